@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.transformer.benchmark;
+
+import io.ballerina.projects.CodeGeneratorResult;
+import io.ballerina.projects.Package;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the generation of the transformer service, i.e. the code generator run over an already compiled
+ * package, including the formatting of the generated source.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class CodeGenerationBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int transformerCount;
+
+    private Path packageDir;
+    private Package currentPackage;
+
+    @Setup(Level.Trial)
+    public void createPackage() throws IOException {
+        packageDir = SyntheticTransformerPackage.create(transformerCount, true);
+    }
+
+    @Setup(Level.Invocation)
+    public void compilePackage() throws IOException {
+        // The sources generated in the previous invocation would be reused otherwise
+        Path targetDir = packageDir.resolve("target");
+        if (Files.exists(targetDir)) {
+            SyntheticTransformerPackage.delete(targetDir);
+        }
+        currentPackage = SyntheticTransformerPackage.load(packageDir);
+        currentPackage.getCompilation();
+    }
+
+    @Benchmark
+    public CodeGeneratorResult generate() {
+        return currentPackage.runCodeGeneratorPlugins();
+    }
+
+    @TearDown(Level.Trial)
+    public void deletePackage() throws IOException {
+        SyntheticTransformerPackage.delete(packageDir);
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.transformer.benchmark;
+
+import io.ballerina.compiler.syntax.tree.SyntaxTree;
+import io.ballerina.projects.DocumentId;
+import io.ballerina.projects.Module;
+import io.ballerina.projects.Package;
+import io.ballerina.tools.text.TextDocuments;
+import org.ballerinalang.formatter.core.Formatter;
+import org.ballerinalang.formatter.core.FormatterException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the formatting of the generated transformer service alone, which is part of the code generation.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class FormatterBenchmark {
+
+    @Param({"10", "100", "1000", "10000"})
+    public int transformerCount;
+
+    private SyntaxTree serviceSyntaxTree;
+
+    @Setup(Level.Trial)
+    public void generateService() throws IOException {
+        Path packageDir = SyntheticTransformerPackage.create(transformerCount, true);
+        try {
+            Package currentPackage = SyntheticTransformerPackage.load(packageDir);
+            Package updatedPackage = currentPackage.runCodeGeneratorPlugins().updatedPackage().orElseThrow();
+            Module defaultModule = updatedPackage.getDefaultModule();
+            StringBuilder serviceCode = new StringBuilder();
+            for (DocumentId documentId : defaultModule.documentIds()) {
+                if (defaultModule.document(documentId).name().startsWith("service")) {
+                    serviceCode.append(defaultModule.document(documentId).textDocument().toString());
+                }
+            }
+            serviceSyntaxTree = SyntaxTree.from(TextDocuments.from(serviceCode.toString()));
+        } finally {
+            SyntheticTransformerPackage.delete(packageDir);
+        }
+    }
+
+    @Benchmark
+    public SyntaxTree format() throws FormatterException {
+        return Formatter.format(serviceSyntaxTree);
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.transformer.benchmark;
+
+import io.ballerina.projects.DiagnosticResult;
+import io.ballerina.projects.Package;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the compilation of transformer packages with many modules and documents, where every document is
+ * looked up in the package analysis index by the transformer code validator. The time per document should stay flat
+ * as the number of modules and documents grows.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+public class PackageAnalysisBenchmark {
+
+    @Param({"10", "50", "200"})
+    public int moduleCount;
+
+    @Param({"10", "50"})
+    public int documentCount;
+
+    private Path packageDir;
+    private Package currentPackage;
+
+    @Setup(Level.Trial)
+    public void createPackage() throws IOException {
+        packageDir = SyntheticTransformerPackage.createMultiModule(moduleCount, documentCount, 4);
+    }
+
+    // Compilations are cached by the package, hence each invocation compiles a freshly loaded package
+    @Setup(Level.Invocation)
+    public void loadPackage() {
+        currentPackage = SyntheticTransformerPackage.load(packageDir);
+    }
+
+    @Benchmark
+    public DiagnosticResult analyze() {
+        return currentPackage.getCompilation().diagnosticResult();
+    }
+
+    @TearDown(Level.Trial)
+    public void deletePackage() throws IOException {
+        SyntheticTransformerPackage.delete(packageDir);
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.transformer.benchmark;
+
+import io.ballerina.projects.CodeGeneratorResult;
+import io.ballerina.projects.Package;
+import io.ballerina.projects.PackageCompilation;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the compilation of the generated transformer service with and without sharding, i.e. the code generator
+ * run followed by the compilation of the package with the generated documents. The peak heap usage of each
+ * iteration is printed along with the results, as the sharding is meant to bound it.
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx8g")
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+public class ShardedCompilationBenchmark {
+
+    @Param({"1000", "10000"})
+    public int transformerCount;
+
+    // A shard size above the transformer count generates a single service document
+    @Param({"100000", "1000", "250"})
+    public int shardSize;
+
+    private Path packageDir;
+    private Package currentPackage;
+
+    @Setup(Level.Trial)
+    public void createPackage() throws IOException {
+        packageDir = SyntheticTransformerPackage.create(transformerCount, true, "shardSize = " + shardSize);
+    }
+
+    @Setup(Level.Iteration)
+    public void compilePackage() throws IOException {
+        // The sources generated in the previous iteration would be reused otherwise
+        Path targetDir = packageDir.resolve("target");
+        if (Files.exists(targetDir)) {
+            SyntheticTransformerPackage.delete(targetDir);
+        }
+        currentPackage = SyntheticTransformerPackage.load(packageDir);
+        currentPackage.getCompilation();
+        System.gc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+    }
+
+    @Benchmark
+    public PackageCompilation generateAndCompile() {
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        return codeGenResult.updatedPackage().orElseThrow().getCompilation();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportPeakHeap() {
+        long peakHeapUsage = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(memoryPool -> memoryPool.getType() == MemoryType.HEAP)
+                .mapToLong(memoryPool -> memoryPool.getPeakUsage().getUsed())
+                .sum();
+        System.out.printf("%nPeak heap usage: %d MB%n", peakHeapUsage / (1024 * 1024));
+    }
+
+    @TearDown(Level.Trial)
+    public void deletePackage() throws IOException {
+        SyntheticTransformerPackage.delete(packageDir);
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package io.ballerina.transformer.benchmark;
+
+import io.ballerina.projects.Package;
+import io.ballerina.projects.ProjectEnvironmentBuilder;
+import io.ballerina.projects.directory.BuildProject;
+import io.ballerina.projects.environment.Environment;
+import io.ballerina.projects.environment.EnvironmentBuilder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Synthesized transformer packages of a given size which the benchmarks compile. The transformer functions cycle
+ * through the parameter kinds supported by the code generator, i.e. required, defaultable, rest and
+ * `table<map<T>>` parameters.
+ *
+ */
+final class SyntheticTransformerPackage {
+
+    private static final String BALLERINA_HOME_PROPERTY = "ballerina.home";
+    private static final String TRANSFORMER_IMPORT = "import ballerina/transformer as _;\n\n";
+    private static final String[] TRANSFORMER_TEMPLATES = {
+            "public isolated function transform%d(string name) returns string => name.trim();\n",
+            "public isolated function transform%d(string name, int count = 1) returns string => " +
+                    "name + count.toString();\n",
+            "public isolated function transform%d(string... names) returns int => names.length();\n",
+            "public isolated function transform%d(table<map<string>> rows) returns int => rows.length();\n"
+    };
+
+    private SyntheticTransformerPackage() {
+    }
+
+    /**
+     * This method writes a package with the given number of transformer functions to a temporary directory.
+     *
+     * @param transformerCount Number of transformer functions of the package
+     * @param isTransformer    Whether the package imports the transformer module, which engages the compiler plugin
+     * @return {@link Path} Directory of the package
+     * @throws IOException If the package cannot be written
+     */
+    static Path create(int transformerCount, boolean isTransformer) throws IOException {
+        return create(transformerCount, isTransformer, "");
+    }
+
+    /**
+     * This method writes a package with the given number of transformer functions and the given transformer options
+     * to a temporary directory.
+     *
+     * @param transformerCount   Number of transformer functions of the package
+     * @param isTransformer      Whether the package imports the transformer module, which engages the compiler plugin
+     * @param transformerOptions Entries of the `[transformer]` table of the Ballerina.toml
+     * @return {@link Path} Directory of the package
+     * @throws IOException If the package cannot be written
+     */
+    static Path create(int transformerCount, boolean isTransformer, String transformerOptions) throws IOException {
+        Path packageDir = Files.createTempDirectory("transformer-benchmark-");
+        String transformerTable = transformerOptions.isEmpty() ? "" : "\n[transformer]\n" + transformerOptions + "\n";
+        Files.writeString(packageDir.resolve("Ballerina.toml"), "[package]\norg = \"benchmark\"\n" +
+                "name = \"transformers_" + transformerCount + "\"\nversion = \"0.1.0\"\n" + transformerTable,
+                StandardCharsets.UTF_8);
+        StringBuilder source = new StringBuilder(isTransformer ? TRANSFORMER_IMPORT : "");
+        for (int index = 0; index < transformerCount; index++) {
+            source.append(String.format(TRANSFORMER_TEMPLATES[index % TRANSFORMER_TEMPLATES.length], index));
+        }
+        Files.writeString(packageDir.resolve("main.bal"), source, StandardCharsets.UTF_8);
+        return packageDir;
+    }
+
+    /**
+     * This method writes a package with the given number of modules to a temporary directory. Each module has the
+     * given number of documents and a test document, and the documents of the default module hold the transformer
+     * functions while the other modules only hold helper functions.
+     *
+     * @param moduleCount             Number of modules of the package, including the default module
+     * @param documentCount           Number of documents per module
+     * @param transformersPerDocument Number of transformer functions per document of the default module
+     * @return {@link Path} Directory of the package
+     * @throws IOException If the package cannot be written
+     */
+    static Path createMultiModule(int moduleCount, int documentCount, int transformersPerDocument)
+            throws IOException {
+        Path packageDir = Files.createTempDirectory("transformer-benchmark-");
+        Files.writeString(packageDir.resolve("Ballerina.toml"), "[package]\norg = \"benchmark\"\n" +
+                "name = \"modules_" + moduleCount + "_" + documentCount + "\"\nversion = \"0.1.0\"\n",
+                StandardCharsets.UTF_8);
+        for (int documentIndex = 0; documentIndex < documentCount; documentIndex++) {
+            StringBuilder source = new StringBuilder(TRANSFORMER_IMPORT);
+            for (int index = 0; index < transformersPerDocument; index++) {
+                int transformerIndex = documentIndex * transformersPerDocument + index;
+                source.append(String.format(TRANSFORMER_TEMPLATES[transformerIndex % TRANSFORMER_TEMPLATES.length],
+                        transformerIndex));
+            }
+            Files.writeString(packageDir.resolve("main_" + documentIndex + ".bal"), source, StandardCharsets.UTF_8);
+        }
+        writeTestDocument(packageDir.resolve("tests"));
+        for (int moduleIndex = 1; moduleIndex < moduleCount; moduleIndex++) {
+            Path moduleDir = Files.createDirectories(packageDir.resolve("modules").resolve("module" + moduleIndex));
+            for (int documentIndex = 0; documentIndex < documentCount; documentIndex++) {
+                Files.writeString(moduleDir.resolve("helpers_" + documentIndex + ".bal"), String.format(
+                        "function helper%d(string name) returns string => name.trim();\n", documentIndex),
+                        StandardCharsets.UTF_8);
+            }
+            writeTestDocument(moduleDir.resolve("tests"));
+        }
+        return packageDir;
+    }
+
+    private static void writeTestDocument(Path testsDir) throws IOException {
+        Files.createDirectories(testsDir);
+        Files.writeString(testsDir.resolve("helpers_test.bal"), "function testHelper() returns string => \"\";\n",
+                StandardCharsets.UTF_8);
+    }
+
+    static Package load(Path packageDir) {
+        Path ballerinaHome = Paths.get(System.getProperty(BALLERINA_HOME_PROPERTY, "target/ballerina-runtime"));
+        Environment environment = EnvironmentBuilder.getBuilder().setBallerinaHome(ballerinaHome).build();
+        return BuildProject.load(ProjectEnvironmentBuilder.getBuilder(environment), packageDir).currentPackage();
+    }
+
+    static void delete(Path packageDir) throws IOException {
+        try (Stream<Path> paths = Files.walk(packageDir)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+package io.ballerina.transformer.plugin;
+
+import io.ballerina.compiler.api.ModuleID;
+import io.ballerina.compiler.api.SemanticModel;
+import io.ballerina.compiler.api.symbols.ModuleSymbol;
+import io.ballerina.compiler.api.symbols.Symbol;
+import io.ballerina.compiler.syntax.tree.FunctionCallExpressionNode;
+import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
+import io.ballerina.compiler.syntax.tree.MethodCallExpressionNode;
+import io.ballerina.compiler.syntax.tree.ModulePartNode;
+import io.ballerina.compiler.syntax.tree.Node;
+import io.ballerina.compiler.syntax.tree.NodeVisitor;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.projects.DocumentId;
+import io.ballerina.projects.Module;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Transformer function analyzer which finds whether a function is free of non-deterministic calls.
+ * A function is considered deterministic when every function it calls is a lang library function, other than the
+ * ones of `lang.runtime`, or a deterministic function of the same module.
+ *
+ */
+class DeterministicFunctionAnalyzer {
+
+    private static final String BALLERINA_ORG = "ballerina";
+    private static final String LANG_LIB_PREFIX = "lang.";
+    private static final String RUNTIME_LANG_LIB = "lang.runtime";
+    private static final int NO_ASSUMPTION = Integer.MAX_VALUE;
+
+    private final SemanticModel semanticModel;
+    private final Module module;
+    private final Map<String, Boolean> analyzedFunctions = new HashMap<>();
+    // Depths of the functions being analyzed, to break the cycles of the recursive calls
+    private final Map<String, Integer> functionsInProgress = new HashMap<>();
+    private int lowestAssumedDepth = NO_ASSUMPTION;
+    private Map<String, FunctionDefinitionNode> moduleFunctions;
+
+    DeterministicFunctionAnalyzer(SemanticModel semanticModel, Module module) {
+        this.semanticModel = semanticModel;
+        this.module = module;
+    }
+
+    boolean isDeterministic(FunctionDefinitionNode funcDefNode) {
+        lowestAssumedDepth = NO_ASSUMPTION;
+        return isDeterministicFunction(funcDefNode);
+    }
+
+    // A recursive call to a function being analyzed is assumed to be deterministic. The results which depend on such
+    // an assumption are kept only once the assumed function is analyzed, unless they are non-deterministic regardless.
+    private boolean isDeterministicFunction(FunctionDefinitionNode funcDefNode) {
+        String functionName = funcDefNode.functionName().text();
+        Boolean isDeterministic = analyzedFunctions.get(functionName);
+        if (isDeterministic != null) {
+            return isDeterministic;
+        }
+        Integer assumedDepth = functionsInProgress.get(functionName);
+        if (assumedDepth != null) {
+            lowestAssumedDepth = Math.min(lowestAssumedDepth, assumedDepth);
+            return true;
+        }
+
+        int depth = functionsInProgress.size();
+        int outerAssumedDepth = lowestAssumedDepth;
+        functionsInProgress.put(functionName, depth);
+        lowestAssumedDepth = NO_ASSUMPTION;
+        CalleeCollector calleeCollector = new CalleeCollector();
+        funcDefNode.functionBody().accept(calleeCollector);
+        isDeterministic = calleeCollector.callees.stream().allMatch(this::isDeterministicCall);
+        functionsInProgress.remove(functionName);
+        if (!isDeterministic || lowestAssumedDepth >= depth) {
+            analyzedFunctions.put(functionName, isDeterministic);
+        }
+        lowestAssumedDepth = Math.min(outerAssumedDepth, lowestAssumedDepth < depth ? lowestAssumedDepth :
+                NO_ASSUMPTION);
+        return isDeterministic;
+    }
+
+    private boolean isDeterministicCall(Node calleeNameNode) {
+        Optional<Symbol> calleeSymbol = semanticModel.symbol(calleeNameNode);
+        if (calleeSymbol.isEmpty()) {
+            return false;
+        }
+        Optional<ModuleSymbol> calleeModule = calleeSymbol.get().getModule();
+        if (calleeModule.isEmpty()) {
+            return false;
+        }
+        ModuleID calleeModuleId = calleeModule.get().id();
+        if (BALLERINA_ORG.equals(calleeModuleId.orgName())
+                && calleeModuleId.moduleName().startsWith(LANG_LIB_PREFIX)) {
+            return !RUNTIME_LANG_LIB.equals(calleeModuleId.moduleName());
+        }
+        if (isCurrentModule(calleeModuleId) && calleeSymbol.get().getName().isPresent()) {
+            FunctionDefinitionNode calleeFuncDefNode = getModuleFunctions().get(calleeSymbol.get().getName().get());
+            return calleeFuncDefNode != null && isDeterministicFunction(calleeFuncDefNode);
+        }
+        return false;
+    }
+
+    private boolean isCurrentModule(ModuleID moduleId) {
+        return module.packageInstance().packageOrg().value().equals(moduleId.orgName())
+                && module.moduleName().toString().equals(moduleId.moduleName());
+    }
+
+    private Map<String, FunctionDefinitionNode> getModuleFunctions() {
+        if (moduleFunctions == null) {
+            moduleFunctions = new HashMap<>();
+            for (DocumentId documentId : module.documentIds()) {
+                ModulePartNode modulePartNode = module.document(documentId).syntaxTree().rootNode();
+                modulePartNode.members().forEach(member -> {
+                    if (member.kind() == SyntaxKind.FUNCTION_DEFINITION) {
+                        FunctionDefinitionNode funcDefNode = (FunctionDefinitionNode) member;
+                        moduleFunctions.put(funcDefNode.functionName().text(), funcDefNode);
+                    }
+                });
+            }
+        }
+        return moduleFunctions;
+    }
+
+    /**
+     * Syntax tree visitor which collects the names of the functions and methods called within a node.
+     */
+    private static class CalleeCollector extends NodeVisitor {
+
+        private final List<Node> callees = new ArrayList<>();
+
+        @Override
+        public void visit(FunctionCallExpressionNode functionCallExpressionNode) {
+            callees.add(functionCallExpressionNode.functionName());
+            visitSyntaxNode(functionCallExpressionNode);
+        }
+
+        @Override
+        public void visit(MethodCallExpressionNode methodCallExpressionNode) {
+            callees.add(methodCallExpressionNode.methodName());
+            visitSyntaxNode(methodCallExpressionNode);
+        }
+    }
+}
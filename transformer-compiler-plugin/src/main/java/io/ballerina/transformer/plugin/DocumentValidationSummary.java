@@ -0,0 +1,58 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+import io.ballerina.transformer.plugin.diagnostic.DiagnosticMessage;
+
+import java.util.List;
+
+/**
+ * Validation result of a single document, which stays valid as long as the content of the document is unchanged.
+ *
+ */
+final class DocumentValidationSummary {
+
+    private final String contentHash;
+    private final List<DiagnosticMessage> diagnostics;
+    private final List<TransformerDescriptor> transformerFunctions;
+
+    DocumentValidationSummary(String contentHash, List<DiagnosticMessage> diagnostics,
+                              List<TransformerDescriptor> transformerFunctions) {
+        this.contentHash = contentHash;
+        this.diagnostics = List.copyOf(diagnostics);
+        this.transformerFunctions = List.copyOf(transformerFunctions);
+    }
+
+    String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * This method returns the diagnostics of the document, in the order of the members which they are reported for.
+     *
+     * @return {@link List} Diagnostics of the document
+     */
+    List<DiagnosticMessage> getDiagnostics() {
+        return diagnostics;
+    }
+
+    List<TransformerDescriptor> getTransformerFunctions() {
+        return transformerFunctions;
+    }
+}
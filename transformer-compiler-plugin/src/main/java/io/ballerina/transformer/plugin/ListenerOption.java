@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+/**
+ * Options of the generated `http:Listener` which can be declared in the `[transformer.listener]` table of the
+ * package Ballerina.toml. Each declared option is generated as a configurable variable, so that it can be
+ * overridden per deployment in the Config.toml.
+ *
+ */
+enum ListenerOption {
+    PORT("port", "int", null),
+    HOST("host", "string", "host"),
+    HTTP_VERSION("httpVersion", "http:HttpVersion", "httpVersion"),
+    CERT_FILE("certFile", "string", "secureSocket.key.certFile"),
+    KEY_FILE("keyFile", "string", "secureSocket.key.keyFile"),
+    IDLE_TIMEOUT("idleTimeout", "decimal", "timeout"),
+    KEEP_ALIVE("keepAlive", "http:KeepAlive", "http1Settings.keepAlive"),
+    MAX_PIPELINED_REQUESTS("maxPipelinedRequests", "int", "http1Settings.maxPipelinedRequests"),
+    MAX_URI_LENGTH("maxUriLength", "int", "requestLimits.maxUriLength"),
+    MAX_HEADER_SIZE("maxHeaderSize", "int", "requestLimits.maxHeaderSize"),
+    MAX_ENTITY_BODY_SIZE("maxEntityBodySize", "int", "requestLimits.maxEntityBodySize"),
+    SO_BACKLOG("soBackLog", "int", "socketConfig.soBackLog"),
+    CONNECT_TIMEOUT("connectTimeout", "decimal", "socketConfig.connectTimeOut"),
+    RECEIVE_BUFFER_SIZE("receiveBufferSize", "int", "socketConfig.receiveBufferSize"),
+    SEND_BUFFER_SIZE("sendBufferSize", "int", "socketConfig.sendBufferSize"),
+    TCP_NO_DELAY("tcpNoDelay", "boolean", "socketConfig.tcpNoDelay"),
+    SOCKET_REUSE("socketReuse", "boolean", "socketConfig.socketReuse"),
+    SOCKET_KEEP_ALIVE("socketKeepAlive", "boolean", "socketConfig.keepAlive");
+
+    private final String key;
+    private final String typeName;
+    private final String fieldPath;
+
+    ListenerOption(String key, String typeName, String fieldPath) {
+        this.key = key;
+        this.typeName = typeName;
+        this.fieldPath = fieldPath;
+    }
+
+    String getKey() {
+        return this.key;
+    }
+
+    String getTypeName() {
+        return this.typeName;
+    }
+
+    /**
+     * This method returns the dot separated path of the field of `http:ListenerConfiguration` which is set by the
+     * option, or null for the options which are passed to the listener directly such as the port.
+     *
+     * @return Path of the listener configuration field
+     */
+    String getFieldPath() {
+        return this.fieldPath;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+import io.ballerina.projects.DocumentId;
+import io.ballerina.projects.Module;
+import io.ballerina.projects.ModuleId;
+import io.ballerina.projects.Package;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Module and document layout of a package, indexed once per compilation and shared by the analysis of all the
+ * documents, so that the validator does not scan the modules of the package for every document.
+ *
+ */
+final class PackageAnalysisIndex {
+
+    private final ModuleId defaultModuleId;
+    private final Set<DocumentId> testDocumentIds;
+    private final Map<ModuleId, Integer> documentCounts;
+    private final List<DocumentId> defaultModuleDocumentIds;
+    private final List<DocumentId> packageDocumentIds;
+
+    private PackageAnalysisIndex(ModuleId defaultModuleId, Set<DocumentId> testDocumentIds,
+                                 Map<ModuleId, Integer> documentCounts, List<DocumentId> defaultModuleDocumentIds,
+                                 List<DocumentId> packageDocumentIds) {
+        this.defaultModuleId = defaultModuleId;
+        this.testDocumentIds = testDocumentIds;
+        this.documentCounts = documentCounts;
+        this.defaultModuleDocumentIds = defaultModuleDocumentIds;
+        this.packageDocumentIds = packageDocumentIds;
+    }
+
+    /**
+     * This method indexes the modules and the documents of the given package.
+     *
+     * @param currentPackage Package being compiled
+     * @return {@link PackageAnalysisIndex} Index of the package
+     */
+    static PackageAnalysisIndex from(Package currentPackage) {
+        Module defaultModule = currentPackage.getDefaultModule();
+        Set<DocumentId> testDocumentIds = new HashSet<>();
+        Map<ModuleId, Integer> documentCounts = new HashMap<>();
+        List<DocumentId> packageDocumentIds = new ArrayList<>();
+        for (Module module : currentPackage.modules()) {
+            Collection<DocumentId> moduleDocumentIds = module.documentIds();
+            testDocumentIds.addAll(module.testDocumentIds());
+            documentCounts.put(module.moduleId(), moduleDocumentIds.size());
+            packageDocumentIds.addAll(moduleDocumentIds);
+        }
+        return new PackageAnalysisIndex(defaultModule.moduleId(), Set.copyOf(testDocumentIds),
+                Map.copyOf(documentCounts), List.copyOf(defaultModule.documentIds()), List.copyOf(packageDocumentIds));
+    }
+
+    boolean isDefaultModule(ModuleId moduleId) {
+        return defaultModuleId.equals(moduleId);
+    }
+
+    boolean isTestDocument(DocumentId documentId) {
+        return testDocumentIds.contains(documentId);
+    }
+
+    /**
+     * This method returns the number of the non-test documents of the given module.
+     *
+     * @param moduleId Id of the module
+     * @return Number of the documents, or 0 if the module is not a part of the package
+     */
+    int getDocumentCount(ModuleId moduleId) {
+        return documentCounts.getOrDefault(moduleId, 0);
+    }
+
+    ModuleId getDefaultModuleId() {
+        return defaultModuleId;
+    }
+
+    List<DocumentId> getDefaultModuleDocumentIds() {
+        return defaultModuleDocumentIds;
+    }
+
+    List<DocumentId> getPackageDocumentIds() {
+        return packageDocumentIds;
+    }
+}
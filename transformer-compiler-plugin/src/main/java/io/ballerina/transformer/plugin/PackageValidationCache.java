@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+import io.ballerina.projects.DocumentId;
+import io.ballerina.projects.Package;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Validation summaries of the documents of a package, kept across the compilations of the package so that only the
+ * changed documents are validated again in the IDE and in the watch mode builds.
+ *
+ * The package level checks are computed from the summaries once every document of the default module has been
+ * analyzed in the current compilation.
+ *
+ */
+final class PackageValidationCache {
+
+    private final Map<DocumentId, DocumentValidationSummary> summaries = new ConcurrentHashMap<>();
+    // A new package instance is created for each compilation, even when only a single document is changed
+    private WeakReference<Package> analyzedPackage = new WeakReference<>(null);
+    private PackageAnalysisIndex analysisIndex;
+    private ParameterTypeClassifier typeClassifier;
+    private Set<DocumentId> analyzedDocuments = new HashSet<>();
+
+    /**
+     * This method returns the validation summary of the given document.
+     *
+     * @param documentId  Id of the document
+     * @param contentHash Hash of the current content of the document
+     * @return {@link DocumentValidationSummary} Validation summary, or null if the document has been changed since
+     * it was validated
+     */
+    DocumentValidationSummary getSummary(DocumentId documentId, String contentHash) {
+        DocumentValidationSummary summary = summaries.get(documentId);
+        return summary != null && summary.getContentHash().equals(contentHash) ? summary : null;
+    }
+
+    void putSummary(DocumentId documentId, DocumentValidationSummary summary) {
+        summaries.put(documentId, summary);
+    }
+
+    /**
+     * This method returns the analysis index of the given package, which is built by the first document analyzed in
+     * the compilation of the package and shared by the rest.
+     *
+     * @param currentPackage Package being compiled
+     * @return {@link PackageAnalysisIndex} Index of the package
+     */
+    synchronized PackageAnalysisIndex getAnalysisIndex(Package currentPackage) {
+        if (analyzedPackage.get() != currentPackage) {
+            analyzedPackage = new WeakReference<>(currentPackage);
+            analysisIndex = PackageAnalysisIndex.from(currentPackage);
+            typeClassifier = new ParameterTypeClassifier();
+            analyzedDocuments = new HashSet<>();
+        }
+        return analysisIndex;
+    }
+
+    /**
+     * This method returns the parameter type classifier of the given package, of which the classified types are
+     * shared by all the documents analyzed in the compilation of the package.
+     *
+     * @param currentPackage Package being compiled
+     * @return {@link ParameterTypeClassifier} Type classifier of the package
+     */
+    synchronized ParameterTypeClassifier getTypeClassifier(Package currentPackage) {
+        getAnalysisIndex(currentPackage);
+        return typeClassifier;
+    }
+
+    /**
+     * This method marks the given document of the default module as analyzed in the compilation of the given package.
+     *
+     * @param currentPackage Package being compiled
+     * @param documentId     Id of the analyzed document
+     * @return true if all the documents of the default module have been analyzed with the given document, which
+     * happens only once per compilation
+     */
+    synchronized boolean markAnalyzed(Package currentPackage, DocumentId documentId) {
+        PackageAnalysisIndex currentIndex = getAnalysisIndex(currentPackage);
+        return analyzedDocuments.add(documentId)
+                && analyzedDocuments.size() == currentIndex.getDocumentCount(currentIndex.getDefaultModuleId());
+    }
+
+    /**
+     * This method returns the transformer functions of the given documents from their validation summaries.
+     *
+     * @param documentIds Ids of the documents
+     * @return {@link List} Transformer functions, in the canonical source order regardless of the order of the
+     * given documents
+     */
+    List<TransformerDescriptor> getTransformerFunctions(Collection<DocumentId> documentIds) {
+        List<TransformerDescriptor> transformerFunctions = new ArrayList<>();
+        for (DocumentId documentId : documentIds) {
+            DocumentValidationSummary summary = summaries.get(documentId);
+            if (summary != null) {
+                transformerFunctions.addAll(summary.getTransformerFunctions());
+            }
+        }
+        transformerFunctions.sort(TransformerDescriptor.SOURCE_ORDER);
+        return transformerFunctions;
+    }
+
+    /**
+     * This method drops the summaries of the documents which are no longer a part of the package.
+     *
+     * @param documentIds Ids of all the documents of the package
+     */
+    void retainDocuments(Collection<DocumentId> documentIds) {
+        summaries.keySet().retainAll(new HashSet<>(documentIds));
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+import io.ballerina.compiler.api.symbols.ArrayTypeSymbol;
+import io.ballerina.compiler.api.symbols.FunctionSymbol;
+import io.ballerina.compiler.api.symbols.FunctionTypeSymbol;
+import io.ballerina.compiler.api.symbols.IntersectionTypeSymbol;
+import io.ballerina.compiler.api.symbols.MapTypeSymbol;
+import io.ballerina.compiler.api.symbols.ParameterSymbol;
+import io.ballerina.compiler.api.symbols.RecordFieldSymbol;
+import io.ballerina.compiler.api.symbols.RecordTypeSymbol;
+import io.ballerina.compiler.api.symbols.TableTypeSymbol;
+import io.ballerina.compiler.api.symbols.TupleTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeDescKind;
+import io.ballerina.compiler.api.symbols.TypeReferenceTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Transformer parameter type classifier which finds whether a type can be bound from the JSON payload of the
+ * generated resources. Type references are resolved through the semantic model, so the named and the inline types
+ * of the same shape are classified alike.
+ *
+ * The classification of each structured type is memoized by its signature for the compilation of the package, so a
+ * type shared by many transformers is resolved once.
+ *
+ */
+final class ParameterTypeClassifier {
+
+    private static final int NO_ASSUMPTION = Integer.MAX_VALUE;
+
+    private final Map<String, Boolean> classifiedTypes = new HashMap<>();
+    // Depths of the types being classified, to break the cycles of the recursive types
+    private final Map<String, Integer> typesInProgress = new HashMap<>();
+    private int lowestAssumedDepth = NO_ASSUMPTION;
+
+    /**
+     * This method finds whether every parameter of the given function can be bound from the payload of a request.
+     *
+     * @param functionSymbol Symbol of the transformer function
+     * @return true if the types of all the parameters are supported
+     */
+    synchronized boolean isServiceGenerable(FunctionSymbol functionSymbol) {
+        FunctionTypeSymbol functionTypeSymbol = functionSymbol.typeDescriptor();
+        List<ParameterSymbol> parameters = new ArrayList<>(functionTypeSymbol.params().orElse(List.of()));
+        functionTypeSymbol.restParam().ifPresent(parameters::add);
+        for (ParameterSymbol parameter : parameters) {
+            lowestAssumedDepth = NO_ASSUMPTION;
+            if (!isSupported(parameter.typeDescriptor())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean isSupported(TypeSymbol typeSymbol) {
+        switch (typeSymbol.typeKind()) {
+            case NIL:
+            case BOOLEAN:
+            case INT:
+            case INT_SIGNED8:
+            case INT_SIGNED16:
+            case INT_SIGNED32:
+            case INT_UNSIGNED8:
+            case INT_UNSIGNED16:
+            case INT_UNSIGNED32:
+            case BYTE:
+            case FLOAT:
+            case DECIMAL:
+            case STRING:
+            case STRING_CHAR:
+            case JSON:
+            case ANYDATA:
+            case SINGLETON:
+                return true;
+            case TYPE_REFERENCE:
+            case INTERSECTION:
+            case ARRAY:
+            case TUPLE:
+            case MAP:
+            case RECORD:
+            case TABLE:
+            case UNION:
+                return isSupportedStructure(typeSymbol);
+            default:
+                return false;
+        }
+    }
+
+    // A type seen again while it is being classified is assumed to be supported. The results which depend on such
+    // an assumption are kept only once the assumed type is classified, unless they are unsupported regardless.
+    private boolean isSupportedStructure(TypeSymbol typeSymbol) {
+        String signature = typeSymbol.signature();
+        Boolean isSupported = classifiedTypes.get(signature);
+        if (isSupported != null) {
+            return isSupported;
+        }
+        Integer assumedDepth = typesInProgress.get(signature);
+        if (assumedDepth != null) {
+            lowestAssumedDepth = Math.min(lowestAssumedDepth, assumedDepth);
+            return true;
+        }
+
+        int depth = typesInProgress.size();
+        int outerAssumedDepth = lowestAssumedDepth;
+        typesInProgress.put(signature, depth);
+        lowestAssumedDepth = NO_ASSUMPTION;
+        isSupported = areMembersSupported(typeSymbol);
+        typesInProgress.remove(signature);
+        if (!isSupported || lowestAssumedDepth >= depth) {
+            classifiedTypes.put(signature, isSupported);
+        }
+        lowestAssumedDepth = Math.min(outerAssumedDepth, lowestAssumedDepth < depth ? lowestAssumedDepth :
+                NO_ASSUMPTION);
+        return isSupported;
+    }
+
+    private boolean areMembersSupported(TypeSymbol typeSymbol) {
+        switch (typeSymbol.typeKind()) {
+            case TYPE_REFERENCE:
+                return isSupported(((TypeReferenceTypeSymbol) typeSymbol).typeDescriptor());
+            case INTERSECTION:
+                // Only the `readonly` intersections of the supported types are supported
+                return isSupported(((IntersectionTypeSymbol) typeSymbol).effectiveTypeDescriptor());
+            case ARRAY:
+                return isSupported(((ArrayTypeSymbol) typeSymbol).memberTypeDescriptor());
+            case TUPLE:
+                TupleTypeSymbol tupleTypeSymbol = (TupleTypeSymbol) typeSymbol;
+                return tupleTypeSymbol.memberTypeDescriptors().stream().allMatch(this::isSupported)
+                        && tupleTypeSymbol.restTypeDescriptor().map(this::isSupported).orElse(true);
+            case MAP:
+                return isSupported(((MapTypeSymbol) typeSymbol).typeParam());
+            case RECORD:
+                RecordTypeSymbol recordTypeSymbol = (RecordTypeSymbol) typeSymbol;
+                for (RecordFieldSymbol field : recordTypeSymbol.fieldDescriptors().values()) {
+                    if (!isSupported(field.typeDescriptor())) {
+                        return false;
+                    }
+                }
+                // The open records take the additional fields of the payload as they are
+                Optional<TypeSymbol> restType = recordTypeSymbol.restTypeDescriptor();
+                return restType.isEmpty() || isSupported(restType.get());
+            case TABLE:
+                TypeSymbol rowType = ((TableTypeSymbol) typeSymbol).rowTypeParameter();
+                TypeDescKind rowKind = getReferredType(rowType).typeKind();
+                return (rowKind == TypeDescKind.MAP || rowKind == TypeDescKind.RECORD) && isSupported(rowType);
+            case UNION:
+                return ((UnionTypeSymbol) typeSymbol).memberTypeDescriptors().stream().allMatch(this::isSupported);
+            default:
+                return false;
+        }
+    }
+
+    private static TypeSymbol getReferredType(TypeSymbol typeSymbol) {
+        TypeSymbol referredType = typeSymbol;
+        while (referredType.typeKind() == TypeDescKind.TYPE_REFERENCE) {
+            referredType = ((TypeReferenceTypeSymbol) referredType).typeDescriptor();
+        }
+        return referredType;
+    }
+}
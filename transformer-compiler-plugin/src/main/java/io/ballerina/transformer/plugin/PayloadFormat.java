@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+import java.util.List;
+
+/**
+ * Binary payload formats which can be declared in the `payloadFormats` option of the `[transformer]` table, in
+ * addition to JSON. The format of a request is selected by its `Content-Type` header and the format of the response
+ * by the `Accept` header of the request.
+ *
+ */
+enum PayloadFormat {
+    CBOR("cbor", "application/cbor", List.of("application/cbor"), "transformerReadCbor", "transformerWriteCbor"),
+    MSGPACK("msgpack", "application/msgpack", List.of("application/msgpack", "application/x-msgpack"),
+            "transformerReadMsgpack", "transformerWriteMsgpack");
+
+    private final String key;
+    private final String mediaType;
+    private final List<String> acceptedMediaTypes;
+    private final String readFunction;
+    private final String writeFunction;
+
+    PayloadFormat(String key, String mediaType, List<String> acceptedMediaTypes, String readFunction,
+                  String writeFunction) {
+        this.key = key;
+        this.mediaType = mediaType;
+        this.acceptedMediaTypes = acceptedMediaTypes;
+        this.readFunction = readFunction;
+        this.writeFunction = writeFunction;
+    }
+
+    /**
+     * This method returns the payload format of the given key.
+     *
+     * @param key Key of the format as declared in the `payloadFormats` option
+     * @return {@link PayloadFormat} Payload format, or null if there is no format with the given key
+     */
+    static PayloadFormat from(Object key) {
+        for (PayloadFormat format : values()) {
+            if (format.key.equals(key)) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method returns the media type of the responses in the format.
+     *
+     * @return {@link String} Response media type
+     */
+    String getMediaType() {
+        return this.mediaType;
+    }
+
+    /**
+     * This method returns the media types of the requests which are read in the format, including the unregistered
+     * aliases which are still common in practice.
+     *
+     * @return {@link List} Request media types
+     */
+    List<String> getAcceptedMediaTypes() {
+        return this.acceptedMediaTypes;
+    }
+
+    String getReadFunction() {
+        return this.readFunction;
+    }
+
+    String getWriteFunction() {
+        return this.writeFunction;
+    }
+}
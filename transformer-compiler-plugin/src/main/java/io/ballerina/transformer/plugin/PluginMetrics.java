@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+import io.ballerina.projects.Package;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Timings and counts of the work done by the compiler plugin in a compilation, written as a JSON report under the
+ * `target/` directory of the project when `report` is enabled in the `[transformer]` table.
+ *
+ */
+final class PluginMetrics {
+
+    private static final String REPORT_DIRECTORY = "transformer";
+    private static final String REPORT_FILE = "plugin-report.json";
+
+    /**
+     * Measured phases of the compiler plugin. The payload and the resource generation are parts of the service
+     * generation.
+     */
+    enum Phase {
+        VALIDATION("validation"),
+        FINGERPRINTING("fingerprinting"),
+        PAYLOAD_GENERATION("payloadGeneration"),
+        RESOURCE_GENERATION("resourceGeneration"),
+        SERVICE_GENERATION("serviceGeneration"),
+        FORMATTING("formatting");
+
+        private final String key;
+
+        Phase(String key) {
+            this.key = key;
+        }
+    }
+
+    /**
+     * Counted items of the compiler plugin.
+     */
+    enum Counter {
+        ANALYZED_DOCUMENTS("analyzedDocuments"),
+        REUSED_DOCUMENT_SUMMARIES("reusedDocumentSummaries"),
+        MODULE_MEMBERS("moduleMembers"),
+        TRANSFORMERS("transformers"),
+        PAYLOAD_RECORDS("payloadRecords"),
+        GENERATED_DOCUMENTS("generatedDocuments"),
+        REUSED_GENERATED_DOCUMENTS("reusedGeneratedDocuments"),
+        GENERATED_SOURCE_BYTES("generatedSourceBytes");
+
+        private final String key;
+
+        Counter(String key) {
+            this.key = key;
+        }
+    }
+
+    private final Map<Phase, LongAdder> phaseNanos = new EnumMap<>(Phase.class);
+    private final Map<Counter, LongAdder> counts = new EnumMap<>(Counter.class);
+    private WeakReference<Package> measuredPackage = new WeakReference<>(null);
+
+    PluginMetrics() {
+        for (Phase phase : Phase.values()) {
+            phaseNanos.put(phase, new LongAdder());
+        }
+        for (Counter counter : Counter.values()) {
+            counts.put(counter, new LongAdder());
+        }
+    }
+
+    /**
+     * This method starts measuring the compilation of the given package, dropping the metrics of the previous
+     * compilation if they have not been reported.
+     *
+     * @param currentPackage Package being compiled
+     */
+    synchronized void startCompilation(Package currentPackage) {
+        if (measuredPackage.get() != currentPackage) {
+            measuredPackage = new WeakReference<>(currentPackage);
+            reset();
+        }
+    }
+
+    /**
+     * This method adds the time elapsed since the given start time to the given phase.
+     *
+     * @param phase      Measured phase
+     * @param startNanos Start time of the phase, as returned by {@link System#nanoTime()}
+     */
+    void addTime(Phase phase, long startNanos) {
+        phaseNanos.get(phase).add(System.nanoTime() - startNanos);
+    }
+
+    void add(Counter counter, long count) {
+        counts.get(counter).add(count);
+    }
+
+    /**
+     * This method writes the metrics of the current compilation to the report file of the given package, and starts
+     * the metrics of the next compilation from zero. The report is only a diagnostic aid, so the failures to write
+     * it are ignored.
+     *
+     * @param currentPackage Package of which the metrics are reported
+     */
+    synchronized void writeReport(Package currentPackage) {
+        String report = toJson(currentPackage.packageOrg().value() + "/" + currentPackage.packageName().value() +
+                ":" + currentPackage.packageVersion());
+        reset();
+        Path reportFile = currentPackage.project().targetDir().resolve(REPORT_DIRECTORY).resolve(REPORT_FILE);
+        try {
+            Files.createDirectories(reportFile.getParent());
+            Path tempFile = Files.createTempFile(reportFile.getParent(), REPORT_FILE, ".tmp");
+            Files.writeString(tempFile, report, StandardCharsets.UTF_8);
+            Files.move(tempFile, reportFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Ignored, the build does not depend on the report
+        }
+    }
+
+    private String toJson(String packageId) {
+        List<String> timings = new ArrayList<>();
+        phaseNanos.forEach((phase, nanos) -> timings.add("    \"" + phase.key + "\": " +
+                String.format(Locale.ROOT, "%.3f", nanos.sum() / 1_000_000.0)));
+        List<String> countEntries = new ArrayList<>();
+        counts.forEach((counter, count) -> countEntries.add("    \"" + counter.key + "\": " + count.sum()));
+        return "{\n" +
+                "  \"package\": \"" + packageId.replace("\\", "\\\\").replace("\"", "\\\"") + "\",\n" +
+                "  \"timingsMillis\": {\n" + String.join(",\n", timings) + "\n  },\n" +
+                "  \"counts\": {\n" + String.join(",\n", countEntries) + "\n  }\n" +
+                "}\n";
+    }
+
+    private void reset() {
+        phaseNanos.values().forEach(LongAdder::reset);
+        counts.values().forEach(LongAdder::reset);
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+import io.ballerina.projects.Project;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.CodeSource;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Generated service sources of the previous build, keyed by the fingerprints of the transformers they were
+ * generated from, and persisted under the `target/` directory of the project.
+ *
+ * The cache is only an optimization, so the failures to read or write it are ignored and the service is generated
+ * from scratch instead.
+ *
+ */
+final class ServiceGenerationCache {
+
+    private static final String CACHE_DIRECTORY = "transformer";
+    private static final String CACHE_FILE = "service-cache.properties";
+    private static final String GENERATOR_KEY = "generator";
+    private static final String DOCUMENT_FINGERPRINT_KEY = "document.fingerprint";
+    private static final String DOCUMENT_NAMES_KEY = "document.names";
+    private static final String DOCUMENT_KEY_PREFIX = "document.source.";
+    private static final String FRAGMENT_KEY_PREFIX = "fragment.";
+    // Identifies the plugin build, so that the sources generated by another version of the plugin are not reused
+    private static final String GENERATOR_IDENTITY = getGeneratorIdentity();
+
+    private final Path cacheFile;
+    private final Properties previousEntries;
+    private final Properties currentEntries = new Properties();
+
+    private ServiceGenerationCache(Path cacheFile, Properties previousEntries) {
+        this.cacheFile = cacheFile;
+        this.previousEntries = previousEntries;
+        this.currentEntries.setProperty(GENERATOR_KEY, GENERATOR_IDENTITY);
+    }
+
+    /**
+     * This method returns the generation cache of the given project, loaded from the previous build if any.
+     *
+     * @param project Project of which the service to be generated
+     * @return {@link ServiceGenerationCache} Generation cache of the project
+     */
+    static ServiceGenerationCache load(Project project) {
+        Path cacheFile = project.targetDir().resolve(CACHE_DIRECTORY).resolve(CACHE_FILE);
+        Properties previousEntries = new Properties();
+        if (Files.isRegularFile(cacheFile)) {
+            try (InputStream inputStream = Files.newInputStream(cacheFile)) {
+                previousEntries.load(inputStream);
+            } catch (IOException | IllegalArgumentException e) {
+                previousEntries.clear();
+            }
+        }
+        if (!GENERATOR_IDENTITY.equals(previousEntries.getProperty(GENERATOR_KEY))) {
+            previousEntries.clear();
+        }
+        return new ServiceGenerationCache(cacheFile, previousEntries);
+    }
+
+    /**
+     * This method returns all the service documents generated in the previous build. When the documents are reused,
+     * all the entries of the previous build are kept for the next build.
+     *
+     * @param fingerprint Fingerprint of the transformers and the options of the package
+     * @return {@link Map} Source per service document name, or null if the documents were generated from a different
+     * fingerprint
+     */
+    Map<String, String> getDocuments(String fingerprint) {
+        String documentNames = previousEntries.getProperty(DOCUMENT_NAMES_KEY);
+        if (documentNames == null || !fingerprint.equals(previousEntries.getProperty(DOCUMENT_FINGERPRINT_KEY))) {
+            return null;
+        }
+        Map<String, String> documents = new LinkedHashMap<>();
+        for (String documentName : documentNames.split(",")) {
+            String document = previousEntries.getProperty(DOCUMENT_KEY_PREFIX + documentName);
+            if (document == null) {
+                return null;
+            }
+            documents.put(documentName, document);
+        }
+        currentEntries.putAll(previousEntries);
+        return documents;
+    }
+
+    void putDocuments(String fingerprint, Map<String, String> documents) {
+        currentEntries.setProperty(DOCUMENT_FINGERPRINT_KEY, fingerprint);
+        currentEntries.setProperty(DOCUMENT_NAMES_KEY, String.join(",", documents.keySet()));
+        documents.forEach((documentName, source) ->
+                currentEntries.setProperty(DOCUMENT_KEY_PREFIX + documentName, source));
+    }
+
+    /**
+     * This method returns a part of the service document, such as the resource functions of a transformer,
+     * generated in the previous build. The returned fragment is kept for the next build.
+     *
+     * @param name        Name of the fragment
+     * @param fingerprint Fingerprint of the transformer from which the fragment is generated
+     * @return Source of the fragment, or null if it was not generated from the given fingerprint
+     */
+    String getFragment(String name, String fingerprint) {
+        String fragment = previousEntries.getProperty(FRAGMENT_KEY_PREFIX + name + "." + fingerprint);
+        if (fragment != null) {
+            putFragment(name, fingerprint, fragment);
+        }
+        return fragment;
+    }
+
+    void putFragment(String name, String fingerprint, String source) {
+        currentEntries.setProperty(FRAGMENT_KEY_PREFIX + name + "." + fingerprint, source);
+    }
+
+    /**
+     * This method persists the entries used by the current build, so that the fragments of removed or changed
+     * transformers do not pile up in the cache.
+     */
+    void save() {
+        if (currentEntries.equals(previousEntries)) {
+            return;
+        }
+        try {
+            Files.createDirectories(cacheFile.getParent());
+            // Written to a temporary file first, as the IDE and a build may generate the same project concurrently
+            Path tempFile = Files.createTempFile(cacheFile.getParent(), CACHE_FILE, ".tmp");
+            try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+                currentEntries.store(outputStream, null);
+            }
+            Files.move(tempFile, cacheFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Ignored, the service is generated from scratch in the next build
+        }
+    }
+
+    /**
+     * This method returns the SHA-256 fingerprint of the given content.
+     *
+     * @param content Content to be fingerprinted
+     * @return {@link String} Hex encoded fingerprint
+     */
+    static String fingerprint(String content) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(content.getBytes(StandardCharsets.UTF_8));
+            StringBuilder fingerprint = new StringBuilder();
+            for (byte digestByte : digest) {
+                fingerprint.append(String.format("%02x", digestByte));
+            }
+            return fingerprint.toString();
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform supports SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String getGeneratorIdentity() {
+        CodeSource codeSource = ServiceGenerationCache.class.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return "";
+        }
+        URL location = codeSource.getLocation();
+        try {
+            Path pluginPath = Paths.get(location.toURI());
+            return location + "@" + Files.getLastModifiedTime(pluginPath).toMillis();
+        } catch (IOException | URISyntaxException | RuntimeException e) {
+            return location.toString();
+        }
+    }
+}
@@ -18,7 +18,6 @@
 
 package io.ballerina.transformer.plugin;
 
-import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
 import io.ballerina.compiler.syntax.tree.SyntaxKind;
 import io.ballerina.projects.plugins.CodeGenerator;
 import io.ballerina.projects.plugins.CodeGeneratorContext;
@@ -26,23 +25,22 @@ import io.ballerina.projects.plugins.CodeGeneratorContext;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Transformer module Code Analyzer and Generator.
  *
  */
 public class TransformerCodeAnalyzerGenerator extends CodeGenerator {
-    private final AtomicInteger visitedDefaultModulePart = new AtomicInteger(0);
-    private final AtomicBoolean foundTransformerFunc = new AtomicBoolean(false);
-    private final List<FunctionDefinitionNode> transformerFunctions = Collections.synchronizedList(new ArrayList<>());
+    private final PackageValidationCache validationCache = new PackageValidationCache();
+    private final PluginMetrics pluginMetrics = new PluginMetrics();
+    private final List<TransformerDescriptor> transformerFunctions = Collections.synchronizedList(new ArrayList<>());
 
     @Override
     public void init(CodeGeneratorContext codeGeneratorContext) {
         codeGeneratorContext.addSyntaxNodeAnalysisTask(
-                new TransformerCodeValidator(visitedDefaultModulePart, foundTransformerFunc, transformerFunctions),
+                new TransformerCodeValidator(validationCache, transformerFunctions, pluginMetrics),
                 List.of(SyntaxKind.MODULE_PART));
-        codeGeneratorContext.addSourceGeneratorTask(new TransformerServiceGenerator(transformerFunctions));
+        codeGeneratorContext.addSourceGeneratorTask(
+                new TransformerServiceGenerator(transformerFunctions, pluginMetrics));
     }
 }
@@ -18,19 +18,19 @@
 
 package io.ballerina.transformer.plugin;
 
-import io.ballerina.compiler.syntax.tree.ArrayTypeDescriptorNode;
-import io.ballerina.compiler.syntax.tree.DefaultableParameterNode;
+import io.ballerina.compiler.api.SemanticModel;
+import io.ballerina.compiler.api.symbols.FunctionSymbol;
+import io.ballerina.compiler.api.symbols.Symbol;
+import io.ballerina.compiler.api.symbols.TypeDescKind;
+import io.ballerina.compiler.api.symbols.TypeReferenceTypeSymbol;
+import io.ballerina.compiler.api.symbols.TypeSymbol;
+import io.ballerina.compiler.api.symbols.UnionTypeSymbol;
 import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
-import io.ballerina.compiler.syntax.tree.MapTypeDescriptorNode;
 import io.ballerina.compiler.syntax.tree.ModulePartNode;
-import io.ballerina.compiler.syntax.tree.RequiredParameterNode;
-import io.ballerina.compiler.syntax.tree.RestParameterNode;
 import io.ballerina.compiler.syntax.tree.SyntaxKind;
-import io.ballerina.compiler.syntax.tree.TableTypeDescriptorNode;
-import io.ballerina.compiler.syntax.tree.TypeParameterNode;
 import io.ballerina.projects.DocumentId;
-import io.ballerina.projects.Module;
 import io.ballerina.projects.ModuleId;
+import io.ballerina.projects.Package;
 import io.ballerina.projects.plugins.AnalysisTask;
 import io.ballerina.projects.plugins.SyntaxNodeAnalysisContext;
 import io.ballerina.tools.diagnostics.Diagnostic;
@@ -38,9 +38,11 @@ import io.ballerina.tools.diagnostics.DiagnosticFactory;
 import io.ballerina.tools.diagnostics.DiagnosticInfo;
 import io.ballerina.transformer.plugin.diagnostic.DiagnosticMessage;
 
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.Map;
+import java.util.Optional;
 
 /**
  * Transformer module Code Validator.
@@ -48,41 +50,109 @@ import java.util.concurrent.atomic.AtomicInteger;
  */
 public class TransformerCodeValidator implements AnalysisTask<SyntaxNodeAnalysisContext> {
 
-    private final AtomicInteger visitedDefaultModulePart;
-    private final AtomicBoolean foundTransformerFunc;
-    private final List<FunctionDefinitionNode> transformerFunctions;
+    private final PackageValidationCache validationCache;
+    private final List<TransformerDescriptor> transformerFunctions;
+    private final PluginMetrics pluginMetrics;
 
-    private final List<SyntaxKind> httpSupportedTypes = List.of(
-            SyntaxKind.BOOLEAN_TYPE_DESC,
-            SyntaxKind.INT_TYPE_DESC,
-            SyntaxKind.FLOAT_TYPE_DESC,
-            SyntaxKind.DECIMAL_TYPE_DESC,
-            SyntaxKind.BYTE_TYPE_DESC,
-            SyntaxKind.STRING_TYPE_DESC,
-            SyntaxKind.JSON_TYPE_DESC,
-            SyntaxKind.MAP_TYPE_DESC,
-            SyntaxKind.RECORD_TYPE_DESC);
+    private final List<String> httpVersions = List.of("1.0", "1.1", "2.0");
+    private final List<String> compressionModes = List.of("AUTO", "ALWAYS", "NEVER");
+    private final List<Long> rejectionStatuses = List.of(429L, 503L);
 
-    TransformerCodeValidator(AtomicInteger visitedDefaultModulePart, AtomicBoolean foundTransformerFunc,
-                             List<FunctionDefinitionNode> transformerFunctions) {
-        this.visitedDefaultModulePart = visitedDefaultModulePart;
-        this.foundTransformerFunc = foundTransformerFunc;
+    TransformerCodeValidator(PackageValidationCache validationCache,
+                             List<TransformerDescriptor> transformerFunctions, PluginMetrics pluginMetrics) {
+        this.validationCache = validationCache;
         this.transformerFunctions = transformerFunctions;
+        this.pluginMetrics = pluginMetrics;
     }
 
     @Override
     public void perform(SyntaxNodeAnalysisContext syntaxNodeAnalysisContext) {
+        long startNanos = System.nanoTime();
         ModulePartNode modulePartNode = (ModulePartNode) syntaxNodeAnalysisContext.node();
 //        SyntaxKind nodeKind = node.kind();
         DocumentId documentId = syntaxNodeAnalysisContext.documentId();
         ModuleId moduleId = syntaxNodeAnalysisContext.moduleId();
+        Package currentPackage = syntaxNodeAnalysisContext.currentPackage();
+        TransformerConfig config = TransformerConfig.from(currentPackage);
+        pluginMetrics.startCompilation(currentPackage);
 
         // Exclude Test related files from transformer validation
-        for (DocumentId testDocId : syntaxNodeAnalysisContext.currentPackage().module(moduleId).testDocumentIds()) {
-            if (documentId.equals(testDocId)) {
-                return;
+        PackageAnalysisIndex analysisIndex = validationCache.getAnalysisIndex(currentPackage);
+        if (analysisIndex.isTestDocument(documentId)) {
+            return;
+        }
+
+        // Only the documents which are changed since the last compilation are analyzed again
+        boolean isDefaultModule = analysisIndex.isDefaultModule(moduleId);
+        String contentHash = ServiceGenerationCache.fingerprint(modulePartNode.toSourceCode());
+        DocumentValidationSummary summary = validationCache.getSummary(documentId, contentHash);
+        if (summary == null) {
+            summary = validateDocument(modulePartNode, isDefaultModule, contentHash);
+            validationCache.putSummary(documentId, summary);
+            pluginMetrics.add(PluginMetrics.Counter.ANALYZED_DOCUMENTS, 1);
+            pluginMetrics.add(PluginMetrics.Counter.MODULE_MEMBERS, modulePartNode.members().size());
+        } else {
+            pluginMetrics.add(PluginMetrics.Counter.REUSED_DOCUMENT_SUMMARIES, 1);
+        }
+        summary.getDiagnostics().forEach(diagnosticMessage ->
+                reportDiagnostics(syntaxNodeAnalysisContext, diagnosticMessage));
+
+        // Parameter types and determinism depend on the other documents as well, so they are not cached per document
+        if (!summary.getTransformerFunctions().isEmpty()) {
+            SemanticModel semanticModel = syntaxNodeAnalysisContext.semanticModel();
+            ParameterTypeClassifier typeClassifier = validationCache.getTypeClassifier(currentPackage);
+            DeterministicFunctionAnalyzer deterministicFunctionAnalyzer = null;
+            for (FunctionDefinitionNode functionDefNode : getTransformerFunctionNodes(modulePartNode, summary)) {
+                if (!isServiceGenerableFunc(semanticModel, typeClassifier, functionDefNode)) {
+                    reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_107);
+                }
+                if (config.isCacheEnabled(functionDefNode.functionName().text())) {
+                    if (deterministicFunctionAnalyzer == null) {
+                        deterministicFunctionAnalyzer = new DeterministicFunctionAnalyzer(semanticModel,
+                                currentPackage.module(moduleId));
+                    }
+                    if (!deterministicFunctionAnalyzer.isDeterministic(functionDefNode)) {
+                        reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_108);
+                    }
+                }
+            }
+        }
+
+        // Check if all ModulePart nodes within default package is visited to report diagnostics
+        if (isDefaultModule && validationCache.markAnalyzed(currentPackage, documentId)) {
+            List<TransformerDescriptor> packageTransformerFunctions =
+                    validationCache.getTransformerFunctions(analysisIndex.getDefaultModuleDocumentIds());
+            if (config.isPipelineEnabled()) {
+                packageTransformerFunctions = resolvePipelineSuccessors(syntaxNodeAnalysisContext.semanticModel(),
+                        packageTransformerFunctions);
+            }
+            synchronized (transformerFunctions) {
+                transformerFunctions.clear();
+                transformerFunctions.addAll(packageTransformerFunctions);
+            }
+            if (packageTransformerFunctions.isEmpty()) {
+                reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_105);
             }
+            // Service options are validated once per package, as they are not bound to a document
+            validateServiceOptions(syntaxNodeAnalysisContext, config, packageTransformerFunctions);
+
+            validationCache.retainDocuments(analysisIndex.getPackageDocumentIds());
         }
+        pluginMetrics.addTime(PluginMetrics.Phase.VALIDATION, startNanos);
+    }
+
+    /**
+     * This method analyzes each member of the given document.
+     *
+     * @param modulePartNode  Root node of the document
+     * @param isDefaultModule Whether the document belongs to the default module, where the transformers are served
+     * @param contentHash     Hash of the content of the document
+     * @return {@link DocumentValidationSummary} Diagnostics and transformer functions of the document
+     */
+    private DocumentValidationSummary validateDocument(ModulePartNode modulePartNode, boolean isDefaultModule,
+                                                       String contentHash) {
+        List<DiagnosticMessage> diagnostics = new ArrayList<>();
+        List<TransformerDescriptor> documentTransformerFunctions = new ArrayList<>();
 
         // Analyze each node within each ModulePart nodes
         modulePartNode.members().forEach(member -> {
@@ -92,19 +162,19 @@ public class TransformerCodeValidator implements AnalysisTask<SyntaxNodeAnalysis
                 case FUNCTION_DEFINITION:
                     FunctionDefinitionNode functionDefNode = (FunctionDefinitionNode) member;
                     if (functionDefNode.functionName().text().equals("main")) {
-                        reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_100);
+                        diagnostics.add(DiagnosticMessage.ERROR_100);
                     }
                     if (functionDefNode.qualifierList().stream().anyMatch(qualifier ->
                             qualifier.kind() == SyntaxKind.PUBLIC_KEYWORD)
                             && functionDefNode.functionBody().kind() != SyntaxKind.EXPRESSION_FUNCTION_BODY) {
-                        reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_101);
+                        diagnostics.add(DiagnosticMessage.ERROR_101);
                     }
                     functionDefNode.metadata().ifPresent(metadata -> {
                         if (!metadata.annotations().isEmpty()) {
-                            reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_106);
+                            diagnostics.add(DiagnosticMessage.ERROR_106);
                         }
                     });
-                    if (isDefaultModule(syntaxNodeAnalysisContext.currentPackage().modules(), moduleId)) {
+                    if (isDefaultModule) {
 //                        if (isTransformerFunc(functionDefNode) && isServiceGenerableFunc(functionDefNode)) {
 //                            foundTransformerFunc.set(true);
 //                            transformerFunctions.add(functionDefNode);
@@ -112,34 +182,174 @@ public class TransformerCodeValidator implements AnalysisTask<SyntaxNodeAnalysis
 //                            reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_107);
 //                        }
                         if (isTransformerFunc(functionDefNode)) {
-                            foundTransformerFunc.set(true);
-                            transformerFunctions.add(functionDefNode);
-                            if (!isServiceGenerableFunc(functionDefNode, syntaxNodeAnalysisContext)) {
-                                reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_107);
+                            documentTransformerFunctions.add(TransformerDescriptor.from(functionDefNode));
+                            if (!isIsolatedFunc(functionDefNode)) {
+                                diagnostics.add(DiagnosticMessage.WARNING_100);
                             }
                         }
                     }
                     break;
                 case LISTENER_DECLARATION:
-                    reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_102);
+                    diagnostics.add(DiagnosticMessage.ERROR_102);
                     break;
                 case CLASS_DEFINITION:
-                    reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_103);
+                    diagnostics.add(DiagnosticMessage.ERROR_103);
                     break;
                 case SERVICE_DECLARATION:
-                    reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_104);
+                    diagnostics.add(DiagnosticMessage.ERROR_104);
                     break;
                 default:
                     break;
             }
         });
+        return new DocumentValidationSummary(contentHash, diagnostics, documentTransformerFunctions);
+    }
 
-        // Check if all ModulePart nodes within default package is visited to report diagnostics
-        if (isDefaultModule(syntaxNodeAnalysisContext.currentPackage().modules(), moduleId)) {
-            if (syntaxNodeAnalysisContext.currentPackage().module(moduleId).documentIds().size()
-                    == visitedDefaultModulePart.incrementAndGet()
-                    && !foundTransformerFunc.get()) {
-                reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_105);
+    /**
+     * This method returns the definitions of the transformer functions of the given document, as the summary of the
+     * document only keeps the descriptors of the transformer functions.
+     *
+     * @param modulePartNode Root node of the document
+     * @param summary        Validation summary of the document
+     * @return {@link List} Function definition nodes, in the order of the members of the document
+     */
+    private List<FunctionDefinitionNode> getTransformerFunctionNodes(ModulePartNode modulePartNode,
+                                                                     DocumentValidationSummary summary) {
+        List<String> transformerNames = new ArrayList<>();
+        summary.getTransformerFunctions().forEach(transformer -> transformerNames.add(transformer.getName()));
+        List<FunctionDefinitionNode> transformerFunctionNodes = new ArrayList<>();
+        modulePartNode.members().forEach(member -> {
+            if (member.kind() == SyntaxKind.FUNCTION_DEFINITION) {
+                FunctionDefinitionNode functionDefNode = (FunctionDefinitionNode) member;
+                if (transformerNames.contains(functionDefNode.functionName().text())) {
+                    transformerFunctionNodes.add(functionDefNode);
+                }
+            }
+        });
+        return transformerFunctionNodes;
+    }
+
+    /**
+     * This method resolves the transformers which can follow each transformer in a pipeline, i.e. those of which the
+     * first parameter is required, the other parameters are optional and the first parameter type is a supertype of
+     * the non-error return type of the preceding transformer.
+     *
+     * @param semanticModel Semantic model of the default module
+     * @param transformers  Transformer functions of the package
+     * @return {@link List} Transformer functions with their pipeline successors
+     */
+    private List<TransformerDescriptor> resolvePipelineSuccessors(SemanticModel semanticModel,
+                                                                  List<TransformerDescriptor> transformers) {
+        Map<String, FunctionSymbol> functionSymbols = new HashMap<>();
+        for (Symbol symbol : semanticModel.moduleSymbols()) {
+            if (symbol instanceof FunctionSymbol && symbol.getName().isPresent()) {
+                functionSymbols.put(symbol.getName().get(), (FunctionSymbol) symbol);
+            }
+        }
+        // The input type of each transformer which can be chained, i.e. the type of its first parameter
+        Map<String, TypeSymbol> inputTypes = new HashMap<>();
+        for (TransformerDescriptor transformer : transformers) {
+            FunctionSymbol functionSymbol = functionSymbols.get(transformer.getName());
+            List<TransformerDescriptor.Parameter> parameters = transformer.getParameters();
+            if (functionSymbol == null || parameters.isEmpty()
+                    || parameters.get(0).getKind() != TransformerDescriptor.ParameterKind.REQUIRED
+                    || parameters.stream().skip(1).anyMatch(parameter ->
+                    parameter.getKind() == TransformerDescriptor.ParameterKind.REQUIRED)) {
+                continue;
+            }
+            functionSymbol.typeDescriptor().params().filter(params -> !params.isEmpty())
+                    .ifPresent(params -> inputTypes.put(transformer.getName(), params.get(0).typeDescriptor()));
+        }
+
+        // Many transformers share their types, so each pair of types is checked once
+        Map<String, Boolean> subtypeResults = new HashMap<>();
+        List<TransformerDescriptor> resolvedTransformers = new ArrayList<>();
+        for (TransformerDescriptor transformer : transformers) {
+            FunctionSymbol functionSymbol = functionSymbols.get(transformer.getName());
+            List<TypeSymbol> resultTypes = functionSymbol == null || transformer.getReturnType() == null ? List.of()
+                    : getResultTypes(functionSymbol.typeDescriptor().returnTypeDescriptor().orElse(null));
+            List<String> successors = new ArrayList<>();
+            if (!resultTypes.isEmpty()) {
+                for (TransformerDescriptor successor : transformers) {
+                    TypeSymbol inputType = inputTypes.get(successor.getName());
+                    if (inputType != null && resultTypes.stream().allMatch(resultType ->
+                            subtypeResults.computeIfAbsent(resultType.signature() + " <: " + inputType.signature(),
+                                    key -> resultType.subtypeOf(inputType)))) {
+                        successors.add(successor.getName());
+                    }
+                }
+            }
+            resolvedTransformers.add(transformer.withSuccessors(successors));
+        }
+        return resolvedTransformers;
+    }
+
+    // Returns the member types of the given return type which are passed on to the next step, as the errors end the
+    // pipeline
+    private List<TypeSymbol> getResultTypes(TypeSymbol returnType) {
+        if (returnType == null) {
+            return List.of();
+        }
+        TypeSymbol referredType = returnType;
+        while (referredType.typeKind() == TypeDescKind.TYPE_REFERENCE) {
+            referredType = ((TypeReferenceTypeSymbol) referredType).typeDescriptor();
+        }
+        if (referredType.typeKind() == TypeDescKind.ERROR) {
+            return List.of();
+        }
+        if (referredType.typeKind() != TypeDescKind.UNION) {
+            return List.of(returnType);
+        }
+        List<TypeSymbol> resultTypes = new ArrayList<>();
+        for (TypeSymbol memberType : ((UnionTypeSymbol) referredType).memberTypeDescriptors()) {
+            resultTypes.addAll(getResultTypes(memberType));
+        }
+        return resultTypes;
+    }
+
+    private void validateServiceOptions(SyntaxNodeAnalysisContext syntaxNodeAnalysisContext,
+                                        TransformerConfig config, List<TransformerDescriptor> transformers) {
+        Object httpVersion = config.getListenerOption(ListenerOption.HTTP_VERSION);
+        if (httpVersion != null && !httpVersions.contains(httpVersion)) {
+            reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_109);
+        }
+        if ((config.getListenerOption(ListenerOption.CERT_FILE) == null)
+                != (config.getListenerOption(ListenerOption.KEY_FILE) == null)) {
+            reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_110);
+        }
+        if (config.getCompression() != null && !compressionModes.contains(config.getCompression())) {
+            reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_111);
+        }
+        if (config.getShardSize() < 1) {
+            reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_112);
+        }
+        if (config.hasUnknownPayloadFormats()) {
+            reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_117);
+        }
+        for (TransformerDescriptor transformer : transformers) {
+            String transformerName = transformer.getName();
+            if (config.hasDeadline(transformerName) && !(config.getTimeout(transformerName) > 0)) {
+                reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_115);
+            }
+            if (config.isCoalescingEnabled(transformerName) && !(config.getCoalesceTimeout(transformerName) > 0)) {
+                reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_119);
+            }
+            if (config.getCacheCapacity(transformerName) < 0 || config.getCacheTtl(transformerName) < 0) {
+                reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_118);
+            }
+            if (config.getMaxBodySize(transformerName) < 0 || config.getMaxDepth(transformerName) < 0
+                    || config.getMaxElements(transformerName) < 0) {
+                reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_116);
+            }
+            if (!config.isAdmissionControlled(transformerName)) {
+                continue;
+            }
+            if (config.getMaxConcurrency(transformerName) < 1 || config.getMaxQueued(transformerName) < 0
+                    || config.getRetryAfter(transformerName) < 0 || !(config.getQueueTimeout(transformerName) > 0)) {
+                reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_113);
+            }
+            if (!rejectionStatuses.contains(config.getRejectionStatus(transformerName))) {
+                reportDiagnostics(syntaxNodeAnalysisContext, DiagnosticMessage.ERROR_114);
             }
         }
     }
@@ -154,15 +364,6 @@ public class TransformerCodeValidator implements AnalysisTask<SyntaxNodeAnalysis
         syntaxNodeAnalysisContext.reportDiagnostic(diagnostic);
     }
 
-    private boolean isDefaultModule(Iterable<Module> modules, ModuleId moduleId) {
-        for (Module module : modules) {
-            if (module.isDefaultModule() && module.moduleId() == moduleId) {
-                return true;
-            }
-        }
-        return false;
-    }
-
     private boolean isTransformerFunc(FunctionDefinitionNode funcDefNode) {
         return !funcDefNode.qualifierList().isEmpty() &&
                 funcDefNode.qualifierList().stream().anyMatch(qualifier ->
@@ -172,92 +373,16 @@ public class TransformerCodeValidator implements AnalysisTask<SyntaxNodeAnalysis
                 && funcDefNode.functionBody().kind() == SyntaxKind.EXPRESSION_FUNCTION_BODY;
     }
 
-    private boolean isServiceGenerableFunc(FunctionDefinitionNode funcDefNode, SyntaxNodeAnalysisContext syntaxNodeAnalysisContext) {
-        AtomicBoolean foundSupportedType = new AtomicBoolean(false);
-        AtomicBoolean foundUnsupportedType = new AtomicBoolean(false);
-        funcDefNode.functionSignature().parameters().forEach(param -> {
-            if (param.kind().equals(SyntaxKind.REQUIRED_PARAM)) {
-                RequiredParameterNode requiredParamNode = (RequiredParameterNode) param;
-                if (requiredParamNode.typeName().kind().equals(SyntaxKind.ARRAY_TYPE_DESC)) {
-                    if (httpSupportedTypes.contains(((ArrayTypeDescriptorNode) requiredParamNode.typeName())
-                            .memberTypeDesc().kind())) {
-                        foundSupportedType.set(true);
-                    }
-                } else if (requiredParamNode.typeName().kind().equals(SyntaxKind.MAP_TYPE_DESC)) {
-                    if (httpSupportedTypes.contains(((MapTypeDescriptorNode) requiredParamNode.typeName())
-                            .mapTypeParamsNode().typeNode().kind())) {
-                        foundSupportedType.set(true);
-                    }
-                } else if (requiredParamNode.typeName().kind().equals(SyntaxKind.TABLE_TYPE_DESC)) {
-                    if (((TypeParameterNode) ((TableTypeDescriptorNode) requiredParamNode.typeName())
-                            .rowTypeParameterNode()).typeNode().kind().equals(SyntaxKind.MAP_TYPE_DESC)) {
-                        if (httpSupportedTypes.contains(((MapTypeDescriptorNode) ((TypeParameterNode)
-                                ((TableTypeDescriptorNode) requiredParamNode.typeName()).rowTypeParameterNode())
-                                .typeNode()).mapTypeParamsNode().typeNode().kind())) {
-                            foundSupportedType.set(true);
-                        }
-                    }
-                } else if (httpSupportedTypes.contains(requiredParamNode.typeName().kind())) {
-                    foundSupportedType.set(true);
-                } else {
+    private boolean isIsolatedFunc(FunctionDefinitionNode funcDefNode) {
+        return funcDefNode.qualifierList().stream().anyMatch(qualifier ->
+                qualifier.kind() == SyntaxKind.ISOLATED_KEYWORD);
+    }
 
-                    foundUnsupportedType.set(true);
-                }
-            } else if (param.kind().equals(SyntaxKind.DEFAULTABLE_PARAM)) {
-                DefaultableParameterNode defaultableParamNode = (DefaultableParameterNode) param;
-                if (defaultableParamNode.typeName().kind().equals(SyntaxKind.ARRAY_TYPE_DESC)) {
-                    if (httpSupportedTypes.contains(((ArrayTypeDescriptorNode) defaultableParamNode.typeName())
-                            .memberTypeDesc().kind())) {
-                        foundSupportedType.set(true);
-                    }
-                } else if (defaultableParamNode.typeName().kind().equals(SyntaxKind.MAP_TYPE_DESC)) {
-                    if (httpSupportedTypes.contains(((MapTypeDescriptorNode) defaultableParamNode.typeName())
-                            .mapTypeParamsNode().typeNode().kind())) {
-                        foundSupportedType.set(true);
-                    }
-                } else if (defaultableParamNode.typeName().kind().equals(SyntaxKind.TABLE_TYPE_DESC)) {
-                    if (((TypeParameterNode) ((TableTypeDescriptorNode) defaultableParamNode.typeName())
-                            .rowTypeParameterNode()).typeNode().kind().equals(SyntaxKind.MAP_TYPE_DESC)) {
-                        if (httpSupportedTypes.contains(((MapTypeDescriptorNode) ((TypeParameterNode)
-                                ((TableTypeDescriptorNode) defaultableParamNode.typeName()).rowTypeParameterNode())
-                                .typeNode()).mapTypeParamsNode().typeNode().kind())) {
-                            foundSupportedType.set(true);
-                        }
-                    }
-                } else if (httpSupportedTypes.contains(defaultableParamNode.typeName().kind())) {
-                    foundSupportedType.set(true);
-                } else {
-                    foundUnsupportedType.set(true);
-                }
-            } else if (param.kind().equals(SyntaxKind.REST_PARAM)) {
-                RestParameterNode restParamNode = (RestParameterNode) param;
-                if (restParamNode.typeName().kind().equals(SyntaxKind.ARRAY_TYPE_DESC)) {
-                    if (httpSupportedTypes.contains(((ArrayTypeDescriptorNode) restParamNode.typeName())
-                            .memberTypeDesc().kind())) {
-                        foundSupportedType.set(true);
-                    }
-                } else if (restParamNode.typeName().kind().equals(SyntaxKind.MAP_TYPE_DESC)) {
-                    if (httpSupportedTypes.contains(((MapTypeDescriptorNode) restParamNode.typeName())
-                            .mapTypeParamsNode().typeNode().kind())) {
-                        foundSupportedType.set(true);
-                    }
-                } else if (restParamNode.typeName().kind().equals(SyntaxKind.TABLE_TYPE_DESC)) {
-                    if (((TypeParameterNode) ((TableTypeDescriptorNode) restParamNode.typeName())
-                            .rowTypeParameterNode()).typeNode().kind().equals(SyntaxKind.MAP_TYPE_DESC)) {
-                        if (httpSupportedTypes.contains(((MapTypeDescriptorNode) ((TypeParameterNode)
-                                ((TableTypeDescriptorNode) restParamNode.typeName()).rowTypeParameterNode())
-                                .typeNode()).mapTypeParamsNode().typeNode().kind())) {
-                            foundSupportedType.set(true);
-                        }
-                    }
-                } else if (httpSupportedTypes.contains(restParamNode.typeName().kind())) {
-                    foundSupportedType.set(true);
-                } else {
-                    foundUnsupportedType.set(true);
-                }
-            }
-        });
-        return foundSupportedType.get() && !foundUnsupportedType.get();
+    private boolean isServiceGenerableFunc(SemanticModel semanticModel, ParameterTypeClassifier typeClassifier,
+                                           FunctionDefinitionNode funcDefNode) {
+        Optional<Symbol> functionSymbol = semanticModel.symbol(funcDefNode);
+        return functionSymbol.isPresent() && functionSymbol.get() instanceof FunctionSymbol
+                && typeClassifier.isServiceGenerable((FunctionSymbol) functionSymbol.get());
     }
 
 //    private boolean isReturnTypeSupported(FunctionDefinitionNode funcDefNode) {
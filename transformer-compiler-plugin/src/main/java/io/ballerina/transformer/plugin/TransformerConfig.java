@@ -0,0 +1,405 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+import io.ballerina.projects.Package;
+import io.ballerina.toml.api.Toml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Transformer module options declared in the `[transformer]` table of the package Ballerina.toml.
+ *
+ */
+final class TransformerConfig {
+
+    private static final String TRANSFORMER_TABLE = "transformer";
+    private static final String STREAMING_KEY = "streaming";
+    private static final String PIPELINE_KEY = "pipeline";
+    private static final String FORMAT_KEY = "format";
+    private static final String SHARD_SIZE_KEY = "shardSize";
+    private static final String REPORT_KEY = "report";
+    private static final String PAYLOAD_FORMATS_KEY = "payloadFormats";
+    private static final String LISTENER_TABLE = "listener";
+    private static final String COMPRESSION_TABLE = "compression";
+    private static final String COMPRESSION_ENABLE_KEY = "enable";
+    private static final String COMPRESSION_CONTENT_TYPES_KEY = "contentTypes";
+    private static final String FUNCTIONS_TABLE = "functions";
+    private static final String CACHE_KEY = "cache";
+    private static final String CACHE_CAPACITY_KEY = "cacheCapacity";
+    private static final String CACHE_TTL_KEY = "cacheTtl";
+    private static final String COALESCE_KEY = "coalesce";
+    private static final String COALESCE_TIMEOUT_KEY = "coalesceTimeout";
+    private static final String MAX_CONCURRENCY_KEY = "maxConcurrency";
+    private static final String MAX_QUEUED_KEY = "maxQueued";
+    private static final String REJECTION_STATUS_KEY = "rejectionStatus";
+    private static final String RETRY_AFTER_KEY = "retryAfter";
+    private static final String QUEUE_TIMEOUT_KEY = "queueTimeout";
+    private static final String TIMEOUT_KEY = "timeout";
+    private static final String MAX_BODY_SIZE_KEY = "maxBodySize";
+    private static final String MAX_DEPTH_KEY = "maxDepth";
+    private static final String MAX_ELEMENTS_KEY = "maxElements";
+    private static final long DEFAULT_CACHE_CAPACITY = 1024;
+    private static final double DEFAULT_CACHE_TTL = 0;
+    private static final double DEFAULT_COALESCE_TIMEOUT = 5;
+    private static final long DEFAULT_SHARD_SIZE = 500;
+    private static final long DEFAULT_MAX_QUEUED = 0;
+    private static final long DEFAULT_REJECTION_STATUS = 503;
+    private static final long DEFAULT_RETRY_AFTER = 1;
+    private static final double DEFAULT_QUEUE_TIMEOUT = 5;
+
+    private final Map<String, Object> options;
+
+    private TransformerConfig(Map<String, Object> options) {
+        this.options = options;
+    }
+
+    /**
+     * This method returns the transformer options of the given package.
+     *
+     * @param currentPackage Package of which the Ballerina.toml to be read
+     * @return {@link TransformerConfig} Transformer options, with defaults for the options which are not declared
+     */
+    static TransformerConfig from(Package currentPackage) {
+        Map<String, Object> options = currentPackage.ballerinaToml()
+                .flatMap(ballerinaToml -> ballerinaToml.tomlDocument().toml().getTable(TRANSFORMER_TABLE))
+                .map(Toml::toMap)
+                .orElse(Collections.emptyMap());
+        return new TransformerConfig(options);
+    }
+
+    boolean isStreamingEnabled() {
+        return getBoolean(options, STREAMING_KEY, false);
+    }
+
+    boolean isPipelineEnabled() {
+        return getBoolean(options, PIPELINE_KEY, false);
+    }
+
+    /**
+     * This method returns whether the generated service should be run through the Ballerina formatter. The service
+     * is generated as indented source already, so this is only needed to debug the generated code.
+     *
+     * @return true if `format` is enabled in the `[transformer]` table
+     */
+    boolean isFormattingEnabled() {
+        return getBoolean(options, FORMAT_KEY, false);
+    }
+
+    /**
+     * This method returns whether the timings and the counts of the compiler plugin should be written as a JSON
+     * report under the `target/` directory.
+     *
+     * @return true if `report` is enabled in the `[transformer]` table
+     */
+    boolean isReportEnabled() {
+        return getBoolean(options, REPORT_KEY, false);
+    }
+
+    /**
+     * This method returns the maximum number of transformers of which the resources are generated into a single
+     * document. The packages with more transformers get their resource implementations and payload records split
+     * into multiple generated documents.
+     *
+     * @return Shard size declared in the `[transformer]` table, or 500 if it is not declared
+     */
+    long getShardSize() {
+        return getLong(options, SHARD_SIZE_KEY, DEFAULT_SHARD_SIZE);
+    }
+
+    /**
+     * This method returns the binary payload formats in which the generated resources read the requests and write the
+     * responses, in addition to JSON.
+     *
+     * @return {@link List} Payload formats declared in the `[transformer]` table, without the unknown formats
+     */
+    List<PayloadFormat> getPayloadFormats() {
+        List<PayloadFormat> payloadFormats = new ArrayList<>();
+        Object declaredFormats = options.get(PAYLOAD_FORMATS_KEY);
+        if (declaredFormats instanceof List) {
+            for (Object declaredFormat : (List<?>) declaredFormats) {
+                PayloadFormat payloadFormat = PayloadFormat.from(declaredFormat);
+                if (payloadFormat != null && !payloadFormats.contains(payloadFormat)) {
+                    payloadFormats.add(payloadFormat);
+                }
+            }
+        }
+        return payloadFormats;
+    }
+
+    /**
+     * This method returns whether the `payloadFormats` option is declared with a value other than a list of known
+     * payload formats.
+     *
+     * @return true if the declared payload formats are invalid
+     */
+    boolean hasUnknownPayloadFormats() {
+        Object declaredFormats = options.get(PAYLOAD_FORMATS_KEY);
+        if (declaredFormats == null) {
+            return false;
+        }
+        return !(declaredFormats instanceof List)
+                || ((List<?>) declaredFormats).stream().anyMatch(format -> PayloadFormat.from(format) == null);
+    }
+
+    /**
+     * This method returns the value of the given option declared in the `[transformer.listener]` table.
+     *
+     * @param option Listener option
+     * @return Declared value of the option, or null if the option is not declared
+     */
+    Object getListenerOption(ListenerOption option) {
+        Object listenerOptions = options.get(LISTENER_TABLE);
+        return listenerOptions instanceof Map ? ((Map<?, ?>) listenerOptions).get(option.getKey()) : null;
+    }
+
+    /**
+     * This method returns the response compression mode declared in the `[transformer.compression]` table.
+     *
+     * @return Compression mode, i.e. `AUTO`, `ALWAYS` or `NEVER`, or null if the compression is not declared
+     */
+    Object getCompression() {
+        return getCompressionOptions().get(COMPRESSION_ENABLE_KEY);
+    }
+
+    /**
+     * This method returns the content types of the responses to be compressed.
+     *
+     * @return Content types declared in the `[transformer.compression]` table, or null to compress all the responses
+     */
+    Object getCompressionContentTypes() {
+        return getCompressionOptions().get(COMPRESSION_CONTENT_TYPES_KEY);
+    }
+
+    boolean isCacheEnabled(String functionName) {
+        return getBoolean(getFunctionOptions(functionName), CACHE_KEY, false);
+    }
+
+    long getCacheCapacity(String functionName) {
+        return getLong(getFunctionOptions(functionName), CACHE_CAPACITY_KEY, DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * This method returns the time in seconds for which a cached result of the given function stays valid.
+     *
+     * @param functionName Name of the transformer function
+     * @return Time to live of the cached results in seconds, where 0 means the results do not expire
+     */
+    double getCacheTtl(String functionName) {
+        return getDouble(getFunctionOptions(functionName), CACHE_TTL_KEY, DEFAULT_CACHE_TTL);
+    }
+
+    boolean isCoalescingEnabled(String functionName) {
+        return getBoolean(getFunctionOptions(functionName), COALESCE_KEY, false);
+    }
+
+    /**
+     * This method returns the time in seconds for which a coalesced request of the given function waits for the
+     * result of the request already in flight, before calling the function itself.
+     *
+     * @param functionName Name of the transformer function
+     * @return Wait bound of the coalesced requests in seconds, 5 seconds by default
+     */
+    double getCoalesceTimeout(String functionName) {
+        return getDouble(getFunctionOptions(functionName), COALESCE_TIMEOUT_KEY, DEFAULT_COALESCE_TIMEOUT);
+    }
+
+    /**
+     * This method returns whether the concurrent calls of the given function are limited, i.e. whether
+     * `maxConcurrency` is declared for the function.
+     *
+     * @param functionName Name of the transformer function
+     * @return true if the admission of the requests to the function should be controlled
+     */
+    boolean isAdmissionControlled(String functionName) {
+        return getFunctionOptions(functionName).containsKey(MAX_CONCURRENCY_KEY);
+    }
+
+    long getMaxConcurrency(String functionName) {
+        return getLong(getFunctionOptions(functionName), MAX_CONCURRENCY_KEY, 0);
+    }
+
+    /**
+     * This method returns the number of requests which may wait for a free slot once the concurrency limit of the
+     * given function is reached.
+     *
+     * @param functionName Name of the transformer function
+     * @return Maximum number of queued requests, where 0 means the requests are rejected right away
+     */
+    long getMaxQueued(String functionName) {
+        return getLong(getFunctionOptions(functionName), MAX_QUEUED_KEY, DEFAULT_MAX_QUEUED);
+    }
+
+    /**
+     * This method returns the status code of the responses to the rejected requests of the given function.
+     *
+     * @param functionName Name of the transformer function
+     * @return Rejection status code, i.e. 429 or 503, where 503 is the default
+     */
+    long getRejectionStatus(String functionName) {
+        return getLong(getFunctionOptions(functionName), REJECTION_STATUS_KEY, DEFAULT_REJECTION_STATUS);
+    }
+
+    /**
+     * This method returns the time in seconds after which a rejected request of the given function may be retried.
+     *
+     * @param functionName Name of the transformer function
+     * @return Value of the `Retry-After` header of the rejections, 1 second by default
+     */
+    long getRetryAfter(String functionName) {
+        return getLong(getFunctionOptions(functionName), RETRY_AFTER_KEY, DEFAULT_RETRY_AFTER);
+    }
+
+    /**
+     * This method returns the time in seconds for which a queued request of the given function waits for a free
+     * slot before it is rejected.
+     *
+     * @param functionName Name of the transformer function
+     * @return Wait bound of the queued requests in seconds, 5 seconds by default
+     */
+    double getQueueTimeout(String functionName) {
+        return getDouble(getFunctionOptions(functionName), QUEUE_TIMEOUT_KEY, DEFAULT_QUEUE_TIMEOUT);
+    }
+
+    /**
+     * This method returns whether the calls of the given function run under a deadline, i.e. whether `timeout` is
+     * declared for the function.
+     *
+     * @param functionName Name of the transformer function
+     * @return true if the resource functions of the function should time out
+     */
+    boolean hasDeadline(String functionName) {
+        return getFunctionOptions(functionName).containsKey(TIMEOUT_KEY);
+    }
+
+    /**
+     * This method returns the time in seconds within which a call of the given function should complete.
+     *
+     * @param functionName Name of the transformer function
+     * @return Time budget of the calls in seconds, or 0 if the function has no deadline
+     */
+    double getTimeout(String functionName) {
+        return getDouble(getFunctionOptions(functionName), TIMEOUT_KEY, 0);
+    }
+
+    /**
+     * This method returns whether the request bodies of the given function are checked against the payload limits,
+     * i.e. whether any of `maxBodySize`, `maxDepth` and `maxElements` is declared for the function.
+     *
+     * @param functionName Name of the transformer function
+     * @return true if the payload of the function should be bound only within the limits
+     */
+    boolean isPayloadLimited(String functionName) {
+        Map<?, ?> functionOptions = getFunctionOptions(functionName);
+        return functionOptions.containsKey(MAX_BODY_SIZE_KEY) || functionOptions.containsKey(MAX_DEPTH_KEY)
+                || functionOptions.containsKey(MAX_ELEMENTS_KEY);
+    }
+
+    /**
+     * This method returns the maximum size of the request bodies of the given function in bytes.
+     *
+     * @param functionName Name of the transformer function
+     * @return Maximum body size, where 0 means the size is not limited
+     */
+    long getMaxBodySize(String functionName) {
+        return getLong(getFunctionOptions(functionName), MAX_BODY_SIZE_KEY, 0);
+    }
+
+    /**
+     * This method returns the maximum nesting depth of the JSON arrays and objects of the request bodies of the
+     * given function.
+     *
+     * @param functionName Name of the transformer function
+     * @return Maximum nesting depth, where 0 means the depth is not limited
+     */
+    long getMaxDepth(String functionName) {
+        return getLong(getFunctionOptions(functionName), MAX_DEPTH_KEY, 0);
+    }
+
+    /**
+     * This method returns the maximum number of elements of each JSON array of the request bodies of the given
+     * function, which covers the rest parameters and the tables as well.
+     *
+     * @param functionName Name of the transformer function
+     * @return Maximum number of elements, where 0 means the number of elements is not limited
+     */
+    long getMaxElements(String functionName) {
+        return getLong(getFunctionOptions(functionName), MAX_ELEMENTS_KEY, 0);
+    }
+
+    /**
+     * This method returns the declared options in a canonical form, where the keys of each table are sorted, so that
+     * the same options give the same string regardless of the order of the declarations.
+     *
+     * @return {@link String} Canonical form of the transformer options
+     */
+    String toCanonicalString() {
+        return toCanonicalString(options);
+    }
+
+    private static String toCanonicalString(Object value) {
+        if (value instanceof Map) {
+            Map<String, String> entries = new TreeMap<>();
+            ((Map<?, ?>) value).forEach((key, entryValue) ->
+                    entries.put(String.valueOf(key), toCanonicalString(entryValue)));
+            return entries.toString();
+        } else if (value instanceof List) {
+            List<String> members = new ArrayList<>();
+            ((List<?>) value).forEach(member -> members.add(toCanonicalString(member)));
+            return members.toString();
+        }
+        return String.valueOf(value);
+    }
+
+    private Map<?, ?> getCompressionOptions() {
+        Object compressionOptions = options.get(COMPRESSION_TABLE);
+        return compressionOptions instanceof Map ? (Map<?, ?>) compressionOptions : Collections.emptyMap();
+    }
+
+    // Options of a single function are declared in the `[transformer.functions.<function>]` table
+    private Map<?, ?> getFunctionOptions(String functionName) {
+        Object functions = options.get(FUNCTIONS_TABLE);
+        if (functions instanceof Map) {
+            Object functionOptions = ((Map<?, ?>) functions).get(functionName);
+            if (functionOptions instanceof Map) {
+                return (Map<?, ?>) functionOptions;
+            }
+        }
+        return Collections.emptyMap();
+    }
+
+    private static boolean getBoolean(Map<?, ?> options, String key, boolean defaultValue) {
+        Object value = options.get(key);
+        return value instanceof Boolean ? (Boolean) value : defaultValue;
+    }
+
+    private static long getLong(Map<?, ?> options, String key, long defaultValue) {
+        Object value = options.get(key);
+        return value instanceof Long ? (Long) value : defaultValue;
+    }
+
+    private static double getDouble(Map<?, ?> options, String key, double defaultValue) {
+        Object value = options.get(key);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+}
@@ -0,0 +1,258 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+import io.ballerina.compiler.syntax.tree.DefaultableParameterNode;
+import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
+import io.ballerina.compiler.syntax.tree.ParameterNode;
+import io.ballerina.compiler.syntax.tree.RequiredParameterNode;
+import io.ballerina.compiler.syntax.tree.RestParameterNode;
+import io.ballerina.compiler.syntax.tree.SyntaxKind;
+import io.ballerina.compiler.syntax.tree.Token;
+import io.ballerina.tools.text.LineRange;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Compact and immutable description of a transformer function, extracted during the analysis so that the syntax
+ * tree of the document does not have to be retained until the service is generated.
+ *
+ */
+final class TransformerDescriptor implements Serializable {
+
+    private static final long serialVersionUID = 2L;
+    private static final String DEFAULT_PARAM_NAME = "defaultName";
+
+    /**
+     * Canonical order of the transformer functions of a module, i.e. by the document name and then by the position
+     * of the function in the document, which does not depend on the order in which the documents are analyzed.
+     */
+    static final Comparator<TransformerDescriptor> SOURCE_ORDER =
+            Comparator.comparing((TransformerDescriptor transformer) -> transformer.fileName)
+                    .thenComparingInt(transformer -> transformer.textStart)
+                    .thenComparing(transformer -> transformer.name);
+
+    private final String name;
+    private final boolean isIsolated;
+    private final List<Parameter> parameters;
+    private final String returnType;
+    // Names of the transformers which can follow this one in a pipeline, resolved once the package is analyzed
+    private final List<String> successors;
+    private final String fileName;
+    private final int startLine;
+    private final int startOffset;
+    private final int endLine;
+    private final int endOffset;
+    private final int textStart;
+    private final int textLength;
+
+    private TransformerDescriptor(FunctionDefinitionNode funcDefNode, List<Parameter> parameters, String returnType) {
+        this.name = funcDefNode.functionName().text();
+        this.isIsolated = funcDefNode.qualifierList().stream().anyMatch(qualifier ->
+                qualifier.kind() == SyntaxKind.ISOLATED_KEYWORD);
+        this.parameters = List.copyOf(parameters);
+        this.returnType = returnType;
+        this.successors = List.of();
+        LineRange lineRange = funcDefNode.location().lineRange();
+        this.fileName = lineRange.filePath();
+        this.startLine = lineRange.startLine().line();
+        this.startOffset = lineRange.startLine().offset();
+        this.endLine = lineRange.endLine().line();
+        this.endOffset = lineRange.endLine().offset();
+        this.textStart = funcDefNode.textRange().startOffset();
+        this.textLength = funcDefNode.textRange().length();
+    }
+
+    private TransformerDescriptor(TransformerDescriptor transformer, List<String> successors) {
+        this.name = transformer.name;
+        this.isIsolated = transformer.isIsolated;
+        this.parameters = transformer.parameters;
+        this.returnType = transformer.returnType;
+        this.successors = List.copyOf(successors);
+        this.fileName = transformer.fileName;
+        this.startLine = transformer.startLine;
+        this.startOffset = transformer.startOffset;
+        this.endLine = transformer.endLine;
+        this.endOffset = transformer.endOffset;
+        this.textStart = transformer.textStart;
+        this.textLength = transformer.textLength;
+    }
+
+    /**
+     * This method returns the descriptor of the given transformer function.
+     *
+     * @param funcDefNode Transformer function definition node
+     * @return {@link TransformerDescriptor} Descriptor of the transformer function
+     */
+    static TransformerDescriptor from(FunctionDefinitionNode funcDefNode) {
+        List<Parameter> parameters = new ArrayList<>();
+        for (ParameterNode paramNode : funcDefNode.functionSignature().parameters()) {
+            if (paramNode.kind() == SyntaxKind.REQUIRED_PARAM) {
+                RequiredParameterNode requiredParamNode = (RequiredParameterNode) paramNode;
+                parameters.add(new Parameter(ParameterKind.REQUIRED, getParamName(requiredParamNode.paramName()
+                        .orElse(null)), requiredParamNode.typeName().toSourceCode().trim(), null));
+            } else if (paramNode.kind() == SyntaxKind.DEFAULTABLE_PARAM) {
+                DefaultableParameterNode defaultableParamNode = (DefaultableParameterNode) paramNode;
+                parameters.add(new Parameter(ParameterKind.DEFAULTABLE, getParamName(defaultableParamNode
+                        .paramName().orElse(null)), defaultableParamNode.typeName().toSourceCode().trim(),
+                        defaultableParamNode.expression().toSourceCode().trim()));
+            } else if (paramNode.kind() == SyntaxKind.REST_PARAM) {
+                RestParameterNode restParamNode = (RestParameterNode) paramNode;
+                parameters.add(new Parameter(ParameterKind.REST, getParamName(restParamNode.paramName()
+                        .orElse(null)), restParamNode.typeName().toSourceCode().trim(), null));
+            }
+        }
+        String returnType = funcDefNode.functionSignature().returnTypeDesc()
+                .filter(returnTypeDesc -> returnTypeDesc.type().kind() != SyntaxKind.NIL_TYPE_DESC)
+                .map(returnTypeDesc -> returnTypeDesc.type().toSourceCode().trim())
+                .orElse(null);
+        return new TransformerDescriptor(funcDefNode, parameters, returnType);
+    }
+
+    private static String getParamName(Token paramName) {
+        return paramName != null ? paramName.text() : DEFAULT_PARAM_NAME;
+    }
+
+    String getName() {
+        return name;
+    }
+
+    boolean isIsolated() {
+        return isIsolated;
+    }
+
+    List<Parameter> getParameters() {
+        return parameters;
+    }
+
+    boolean hasParameters() {
+        return !parameters.isEmpty();
+    }
+
+    /**
+     * This method returns the source of the return type of the transformer function.
+     *
+     * @return Return type source, or null if the transformer function returns nil
+     */
+    String getReturnType() {
+        return returnType;
+    }
+
+    /**
+     * This method returns the names of the transformers which can consume the result of this transformer in a
+     * pipeline, as resolved from the types of the function signatures.
+     *
+     * @return {@link List} Names of the successor transformers, or an empty list if they are not resolved
+     */
+    List<String> getSuccessors() {
+        return successors;
+    }
+
+    /**
+     * This method returns a copy of this descriptor with the given pipeline successors.
+     *
+     * @param successors Names of the transformers which can consume the result of this transformer
+     * @return {@link TransformerDescriptor} Descriptor with the successors
+     */
+    TransformerDescriptor withSuccessors(List<String> successors) {
+        return new TransformerDescriptor(this, successors);
+    }
+
+    /**
+     * This method returns the location of the transformer function, to report the diagnostics of the generated
+     * service against.
+     *
+     * @return {@link TransformerLocation} Location of the transformer function definition
+     */
+    TransformerLocation getLocation() {
+        return new TransformerLocation(fileName, startLine, startOffset, endLine, endOffset, textStart, textLength);
+    }
+
+    /**
+     * This method returns the signature of the transformer function in a canonical form, which changes whenever the
+     * generated resources of the transformer function would change.
+     *
+     * @return {@link String} Canonical signature of the transformer function
+     */
+    String toSignature() {
+        StringBuilder signature = new StringBuilder(name).append('|').append(isIsolated);
+        parameters.forEach(parameter -> signature.append('|').append(parameter.getKind()).append(' ')
+                .append(parameter.getType()).append(' ').append(parameter.getName()).append(" = ")
+                .append(parameter.getDefaultExpression()));
+        return signature.append('|').append(returnType).append('|').append(successors).toString();
+    }
+
+    /**
+     * Kinds of the transformer function parameters.
+     */
+    enum ParameterKind {
+        REQUIRED,
+        DEFAULTABLE,
+        REST
+    }
+
+    /**
+     * Immutable description of a transformer function parameter.
+     */
+    static final class Parameter implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final ParameterKind kind;
+        private final String name;
+        private final String type;
+        private final String defaultExpression;
+
+        Parameter(ParameterKind kind, String name, String type, String defaultExpression) {
+            this.kind = kind;
+            this.name = name;
+            this.type = type;
+            this.defaultExpression = defaultExpression;
+        }
+
+        ParameterKind getKind() {
+            return kind;
+        }
+
+        String getName() {
+            return name;
+        }
+
+        /**
+         * This method returns the source of the parameter type, which is the member type for a rest parameter.
+         *
+         * @return {@link String} Parameter type source
+         */
+        String getType() {
+            return type;
+        }
+
+        /**
+         * This method returns the source of the default value of a defaultable parameter.
+         *
+         * @return Default value expression source, or null if the parameter is not defaultable
+         */
+        String getDefaultExpression() {
+            return defaultExpression;
+        }
+    }
+}
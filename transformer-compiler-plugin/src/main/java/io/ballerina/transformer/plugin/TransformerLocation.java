@@ -0,0 +1,51 @@
+/*
+ * Copyright (c) 2022, WSO2 Inc. (http://www.wso2.org) All Rights Reserved.
+ *
+ * WSO2 Inc. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerina.transformer.plugin;
+
+import io.ballerina.tools.diagnostics.Location;
+import io.ballerina.tools.text.LinePosition;
+import io.ballerina.tools.text.LineRange;
+import io.ballerina.tools.text.TextRange;
+
+/**
+ * Location of a transformer function which does not refer back to the syntax tree of its document.
+ *
+ */
+final class TransformerLocation implements Location {
+
+    private final LineRange lineRange;
+    private final TextRange textRange;
+
+    TransformerLocation(String fileName, int startLine, int startOffset, int endLine, int endOffset, int textStart,
+                        int textLength) {
+        this.lineRange = LineRange.from(fileName, LinePosition.from(startLine, startOffset),
+                LinePosition.from(endLine, endOffset));
+        this.textRange = TextRange.from(textStart, textLength);
+    }
+
+    @Override
+    public LineRange lineRange() {
+        return lineRange;
+    }
+
+    @Override
+    public TextRange textRange() {
+        return textRange;
+    }
+}
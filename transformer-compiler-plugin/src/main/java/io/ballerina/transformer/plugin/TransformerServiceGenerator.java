@@ -18,419 +18,2642 @@
 
 package io.ballerina.transformer.plugin;
 
-import io.ballerina.compiler.syntax.tree.AbstractNodeFactory;
-import io.ballerina.compiler.syntax.tree.AnnotationNode;
-import io.ballerina.compiler.syntax.tree.ArrayDimensionNode;
-import io.ballerina.compiler.syntax.tree.BasicLiteralNode;
-import io.ballerina.compiler.syntax.tree.BinaryExpressionNode;
-import io.ballerina.compiler.syntax.tree.BindingPatternNode;
-import io.ballerina.compiler.syntax.tree.BuiltinSimpleNameReferenceNode;
-import io.ballerina.compiler.syntax.tree.DefaultableParameterNode;
-import io.ballerina.compiler.syntax.tree.ExplicitNewExpressionNode;
-import io.ballerina.compiler.syntax.tree.ExpressionNode;
-import io.ballerina.compiler.syntax.tree.FieldAccessExpressionNode;
-import io.ballerina.compiler.syntax.tree.FunctionArgumentNode;
-import io.ballerina.compiler.syntax.tree.FunctionBodyNode;
-import io.ballerina.compiler.syntax.tree.FunctionCallExpressionNode;
-import io.ballerina.compiler.syntax.tree.FunctionDefinitionNode;
-import io.ballerina.compiler.syntax.tree.FunctionSignatureNode;
-import io.ballerina.compiler.syntax.tree.IdentifierToken;
-import io.ballerina.compiler.syntax.tree.ImportDeclarationNode;
-import io.ballerina.compiler.syntax.tree.ImportOrgNameNode;
-import io.ballerina.compiler.syntax.tree.ListConstructorExpressionNode;
-import io.ballerina.compiler.syntax.tree.LiteralValueToken;
-import io.ballerina.compiler.syntax.tree.MinutiaeList;
-import io.ballerina.compiler.syntax.tree.ModuleMemberDeclarationNode;
-import io.ballerina.compiler.syntax.tree.ModulePartNode;
-import io.ballerina.compiler.syntax.tree.ModuleVariableDeclarationNode;
-import io.ballerina.compiler.syntax.tree.Node;
-import io.ballerina.compiler.syntax.tree.NodeFactory;
-import io.ballerina.compiler.syntax.tree.NodeList;
-import io.ballerina.compiler.syntax.tree.ParameterNode;
-import io.ballerina.compiler.syntax.tree.ParenthesizedArgList;
-import io.ballerina.compiler.syntax.tree.PositionalArgumentNode;
-import io.ballerina.compiler.syntax.tree.QualifiedNameReferenceNode;
-import io.ballerina.compiler.syntax.tree.RecordFieldNode;
-import io.ballerina.compiler.syntax.tree.RecordTypeDescriptorNode;
-import io.ballerina.compiler.syntax.tree.RequiredParameterNode;
-import io.ballerina.compiler.syntax.tree.RestArgumentNode;
-import io.ballerina.compiler.syntax.tree.RestParameterNode;
-import io.ballerina.compiler.syntax.tree.ReturnStatementNode;
-import io.ballerina.compiler.syntax.tree.ReturnTypeDescriptorNode;
-import io.ballerina.compiler.syntax.tree.SeparatedNodeList;
-import io.ballerina.compiler.syntax.tree.ServiceDeclarationNode;
-import io.ballerina.compiler.syntax.tree.SimpleNameReferenceNode;
-import io.ballerina.compiler.syntax.tree.StatementNode;
-import io.ballerina.compiler.syntax.tree.SyntaxKind;
-import io.ballerina.compiler.syntax.tree.Token;
-import io.ballerina.compiler.syntax.tree.TypeDefinitionNode;
-import io.ballerina.compiler.syntax.tree.TypeDescriptorNode;
-import io.ballerina.compiler.syntax.tree.TypedBindingPatternNode;
-import io.ballerina.compiler.syntax.tree.UnionTypeDescriptorNode;
 import io.ballerina.projects.plugins.GeneratorTask;
 import io.ballerina.projects.plugins.SourceGeneratorContext;
-import io.ballerina.tools.text.TextDocument;
+import io.ballerina.tools.diagnostics.Diagnostic;
+import io.ballerina.tools.diagnostics.DiagnosticFactory;
+import io.ballerina.tools.diagnostics.DiagnosticInfo;
 import io.ballerina.tools.text.TextDocuments;
+import io.ballerina.transformer.plugin.diagnostic.DiagnosticMessage;
 import org.ballerinalang.formatter.core.Formatter;
 import org.ballerinalang.formatter.core.FormatterException;
 
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Transformer module Service Generator.
  *
+ * The service is emitted as already indented source, so that the generated code does not have to be parsed and
+ * formatted again. The Ballerina formatter is only run when `format` is enabled in the `[transformer]` table.
+ *
+ * The sources of the transformers are independent of each other, so they are generated in parallel for large
+ * packages and assembled in the order of the transformers afterwards.
+ *
  */
 public class TransformerServiceGenerator implements GeneratorTask<SourceGeneratorContext> {
 
     private static final String PAYLOAD_KEYWORD = "Payload";
     private static final String PAYLOAD_TOKEN = "payload";
     private static final String HTTP_KEYWORD = "http";
+    private static final String IO_KEYWORD = "io";
     private static final String LISTENER_KEYWORD = "Listener";
     private static final String PORT_KEYWORD = "port";
     private static final String POST_KEYWORD = "post";
-    private final List<FunctionDefinitionNode> transformerFunctions;
+    private static final String BATCH_KEYWORD = "batch";
+    private static final String BATCH_ITEM_TOKEN = "item";
+    private static final String BATCH_ERROR_TYPE = "TransformerBatchError";
+    private static final String MAX_BATCH_SIZE_KEYWORD = "maxBatchSize";
+    private static final String INT_TYPE = "int";
+    private static final String COMPRESSION_TOKEN = "responseCompression";
+    private static final String COMPRESSION_CONTENT_TYPES_TOKEN = "compressionContentTypes";
+    private static final String LISTENER_CONFIG_TOKEN = "listenerConfig";
+    private static final String DEFAULT_PORT = "8080";
+    private static final String DEFAULT_MAX_BATCH_SIZE = "1000";
+    private static final String INDENT = "    ";
+    private static final String GENERATOR_THREADS_PROPERTY = "ballerina.transformer.generatorThreads";
+    private static final int MAX_GENERATOR_THREADS = 8;
+    private static final int PARALLEL_GENERATION_THRESHOLD = 64;
+    // Shared by all the builds of the process, so that the number of generator threads stays bounded
+    private static final ForkJoinPool GENERATOR_POOL = new ForkJoinPool(Math.max(1, Integer.getInteger(
+            GENERATOR_THREADS_PROPERTY, Math.min(Runtime.getRuntime().availableProcessors(), MAX_GENERATOR_THREADS))));
+    private static final String SERVICE_DOCUMENT = "service";
+    private static final String SHARD_DOCUMENT_SUFFIX = "_shard_";
+    private static final String RESOURCES_FRAGMENT = "resources";
+    private static final String DELEGATES_FRAGMENT = "delegates";
+    private static final String IMPLEMENTATIONS_FRAGMENT = "implementations";
+    private static final String RESOURCE_SUFFIX = "Resource";
+    private static final String BATCH_RESOURCE_SUFFIX = "BatchResource";
+    private static final String STREAM_RESOURCE_SUFFIX = "StreamResource";
+    private static final String RAW_KEYWORD = "raw";
+    private static final String RAW_RESOURCE_SUFFIX = "RawResource";
+    private static final String BYTES_TYPE = "byte[]";
+    // Parameter types of the transformers which get a raw resource, with the statement binding the request body
+    private static final Map<String, String> RAW_BINDING_STATEMENTS = Map.of(
+            "string", "    string|error %1$s = string:fromBytes(check body);\n",
+            BYTES_TYPE, "    byte[] %1$s = check body;\n",
+            "json", "    string|error text = string:fromBytes(check body);\n" +
+                    "    json|error %1$s = text is error ? text : text.fromJsonString();\n");
+    private static final String PAYLOAD_FRAGMENT = "payload";
+    private static final String BATCH_ERROR_RECORD = "public type TransformerBatchError record {|\n" +
+            "    int index;\n" +
+            "    string message;\n" +
+            "|};";
+    private static final String BATCH_RESOURCE_BODY = "{\n" +
+            "    if payload.length() > %1$s {\n" +
+            "        return <http:PayloadTooLarge>{body: \"Batch size exceeds the configured maximum\"};\n" +
+            "    }\n" +
+            "    %2$s[] results = [];\n" +
+            "    foreach int index in 0 ..< payload.length() {\n" +
+            "        %3$s item = payload[index];\n" +
+            "        %4$s|error result = trap %5$s;\n" +
+            "        if result is error {\n" +
+            "            // A typed local, as a mapping literal would be ambiguous for the mapping result types\n" +
+            "            TransformerBatchError batchError = {index: index, message: result.message()};\n" +
+            "            results.push(batchError);\n" +
+            "        } else {\n" +
+            "            results.push(result);\n" +
+            "        }\n" +
+            "    }\n" +
+            "    return results;\n" +
+            "}";
+    private static final String STREAM_KEYWORD = "stream";
+    private static final String REQUEST_TOKEN = "request";
+    private static final String NDJSON_TRANSFORM_SUFFIX = "NdjsonTransform";
+    private static final String PIPELINE_KEYWORD = "pipeline";
+    private static final String PIPELINE_TYPE = "TransformerPipeline";
+    private static final String PIPELINE_STEP_SUFFIX = "PipelineStep";
+    private static final String PIPELINE_RESOURCE_BODY = "{\n" +
+            "    string[] transformers = payload.transformers;\n" +
+            "    foreach int index in 0 ..< transformers.length() {\n" +
+            "        string[]? successors = pipelineSuccessors[transformers[index]];\n" +
+            "        if successors is () {\n" +
+            "            return <http:BadRequest>{body: string `Unknown transformer '${transformers[index]}'`};\n" +
+            "        }\n" +
+            "        if index + 1 < transformers.length() && successors.indexOf(transformers[index + 1]) is () {\n" +
+            "            return <http:BadRequest>{body: string `Transformer '${transformers[index + 1]}' cannot " +
+            "consume the output of '${transformers[index]}'`};\n" +
+            "        }\n" +
+            "    }\n" +
+            "    anydata result = payload.payload;\n" +
+            "    foreach int index in 0 ..< transformers.length() {\n" +
+            "        result = check runPipelineStep(transformers[index], result, index > 0);\n" +
+            "    }\n" +
+            "    return result;\n" +
+            "}";
+    private static final String PIPELINE_RECORD = "public type TransformerPipeline record {|\n" +
+            "    string[] transformers;\n" +
+            "    json payload;\n" +
+            "|};";
+    private static final String PIPELINE_STEP_FUNCTION =
+            "%1$sfunction %2$s(anydata input, boolean isChained) returns anydata|error {\n" +
+            "    anydata payloadData = isChained ? {%3$s: input} : input;\n" +
+            "    %4$s payload = check payloadData.cloneWithType();\n" +
+            "    return %5$s;\n" +
+            "}";
+    private static final String PIPELINE_DISPATCH_FUNCTION =
+            "%1$sfunction runPipelineStep(string transformer, anydata input, boolean isChained) " +
+            "returns anydata|error {\n" +
+            "    match transformer {\n" +
+            "%2$s" +
+            "    }\n" +
+            "    return error(string `Unknown transformer '${transformer}'`);\n" +
+            "}";
+    private static final String PIPELINE_DISPATCH_CASE = "        \"%1$s\" => {\n" +
+            "            return %2$s;\n" +
+            "        }\n";
+    private static final String STREAM_RESOURCE_BODY = "{\n" +
+            "    stream<byte[], io:Error?> byteStream = check request.getByteStream();\n" +
+            "    TransformerNdjsonStream transformStream = new (byteStream, %1$s);\n" +
+            "    stream<byte[], io:Error?> resultStream = new (transformStream);\n" +
+            "    http:Response response = new;\n" +
+            "    response.setByteStream(resultStream, \"application/x-ndjson\");\n" +
+            "    return response;\n" +
+            "}";
+    private static final String NDJSON_TRANSFORM_FUNCTION =
+            "%1$sfunction %2$s(json payloadJson) returns anydata|error {\n" +
+            "    %3$s payload = check payloadJson.cloneWithType();\n" +
+            "    return %4$s;\n" +
+            "}";
+    private static final String NDJSON_STREAM_CLASS = "class TransformerNdjsonStream {\n" +
+            "    private final stream<byte[], io:Error?> byteStream;\n" +
+            "    private final %1$sfunction (json) returns anydata|error transformFunction;\n" +
+            "    private byte[] buffer = [];\n" +
+            "    private boolean isInputCompleted = false;\n" +
+            "    private int recordIndex = 0;\n" +
+            "\n" +
+            "    %1$sfunction init(stream<byte[], io:Error?> byteStream,\n" +
+            "            %1$sfunction (json) returns anydata|error transformFunction) {\n" +
+            "        self.byteStream = byteStream;\n" +
+            "        self.transformFunction = transformFunction;\n" +
+            "    }\n" +
+            "\n" +
+            "    public %1$sfunction next() returns record {|byte[] value;|}|io:Error? {\n" +
+            "        while true {\n" +
+            "            int? lineEnd = self.buffer.indexOf(10);\n" +
+            "            if lineEnd is () && !self.isInputCompleted {\n" +
+            "                record {|byte[] value;|}|io:Error? chunk = self.byteStream.next();\n" +
+            "                if chunk is io:Error {\n" +
+            "                    return chunk;\n" +
+            "                } else if chunk is () {\n" +
+            "                    self.isInputCompleted = true;\n" +
+            "                } else {\n" +
+            "                    self.buffer.push(...chunk.value);\n" +
+            "                }\n" +
+            "                continue;\n" +
+            "            }\n" +
+            "            byte[] line = self.buffer;\n" +
+            "            if lineEnd is int {\n" +
+            "                line = self.buffer.slice(0, lineEnd);\n" +
+            "                self.buffer = self.buffer.slice(lineEnd + 1);\n" +
+            "            } else {\n" +
+            "                self.buffer = [];\n" +
+            "            }\n" +
+            "            if line.length() > 0 {\n" +
+            "                return {value: self.transformLine(line).toBytes()};\n" +
+            "            }\n" +
+            "            if lineEnd is () {\n" +
+            "                return ();\n" +
+            "            }\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    %1$sfunction transformLine(byte[] line) returns string {\n" +
+            "        int index = self.recordIndex;\n" +
+            "        self.recordIndex += 1;\n" +
+            "        anydata|error result = trap self.transformRecord(line);\n" +
+            "        if result is error {\n" +
+            "            TransformerBatchError recordError = {index: index, message: result.message()};\n" +
+            "            return recordError.toJsonString() + \"\\n\";\n" +
+            "        }\n" +
+            "        return result.toJsonString() + \"\\n\";\n" +
+            "    }\n" +
+            "\n" +
+            "    %1$sfunction transformRecord(byte[] line) returns anydata|error {\n" +
+            "        string payload = check string:fromBytes(line);\n" +
+            "        return self.transformFunction(check payload.trim().fromJsonString());\n" +
+            "    }\n" +
+            "}";
+    private static final String CRYPTO_KEYWORD = "crypto";
+    private static final String TIME_KEYWORD = "time";
+    private static final String GET_KEYWORD = "get";
+    private static final String METRICS_KEYWORD = "metrics";
+    private static final String RESULT_CACHE_SUFFIX = "ResultCache";
+    private static final String RUNTIME_KEYWORD = "lang.runtime";
+    private static final String SINGLE_FLIGHT_SUFFIX = "SingleFlight";
+    private static final String REQUEST_KEY_STATEMENT =
+            "    string requestKey = crypto:hashSha256(transformerCanonicalJson(%1$s).toBytes()).toBase16();\n";
+    private static final String CANONICAL_JSON_FUNCTION =
+            "// Returns the JSON form of the given value with the keys of the mappings sorted, so that the equal\n" +
+            "// arguments built with the fields in a different order get the same request key\n" +
+            "isolated function transformerCanonicalJson(anydata value) returns string {\n" +
+            "    string[] members;\n" +
+            "    if value is map<anydata> {\n" +
+            "        members = from string key in value.keys().sort()\n" +
+            "            select key.toJsonString() + \":\" + transformerCanonicalJson(value.get(key));\n" +
+            "        return \"{\" + string:'join(\",\", ...members) + \"}\";\n" +
+            "    } else if value is anydata[] {\n" +
+            "        members = from anydata member in value select transformerCanonicalJson(member);\n" +
+            "    } else if value is table<map<anydata>> {\n" +
+            "        members = from map<anydata> row in value select transformerCanonicalJson(row);\n" +
+            "    } else {\n" +
+            "        return value.toJsonString();\n" +
+            "    }\n" +
+            "    return \"[\" + string:'join(\",\", ...members) + \"]\";\n" +
+            "}";
+    private static final String CACHE_LOOKUP_STATEMENTS =
+            "    TransformerCacheEntry? cachedEntry = %1$s.get(requestKey);\n" +
+            "    if cachedEntry is TransformerCacheEntry {\n" +
+            "        return <%2$s>cachedEntry.value;\n" +
+            "    }\n";
+    private static final String SINGLE_FLIGHT_STATEMENTS =
+            "    [int, boolean] [flightId, isLeader] = %1$s.join(requestKey);\n" +
+            "    if !isLeader {\n" +
+            "        anydata|error flightValue = %1$s.await(requestKey, flightId);\n" +
+            "        if flightValue !is TransformerFlightTimeout {\n" +
+            "            return <%2$s>(check flightValue);\n" +
+            "        }\n" +
+            "        // The leader did not complete within the wait bound, so the transformer is called directly\n" +
+            "        return %3$s;\n" +
+            "    }\n" +
+            "    %2$s|error flightResult = trap %3$s;\n" +
+            "    %1$s.complete(requestKey, flightResult is error ? flightResult : flightResult.cloneReadOnly());\n" +
+            "    %2$s result = check flightResult;\n";
+    private static final String CACHE_STORE_STATEMENT = "    %1$s.put(requestKey, result);\n";
+    private static final String CACHE_ENTRY_RECORD = "type TransformerCacheEntry readonly & record {|\n" +
+            "    anydata value;\n" +
+            "    decimal createdAt;\n" +
+            "    decimal lastAccessedAt;\n" +
+            "|};";
+    private static final String CACHE_STATS_RECORD = "public type TransformerCacheStats record {|\n" +
+            "    int size;\n" +
+            "    int hits;\n" +
+            "    int misses;\n" +
+            "    int evictions;\n" +
+            "|};";
+    private static final String RESULT_CACHE_CLASS = "isolated class TransformerResultCache {\n" +
+            "    private final int capacity;\n" +
+            "    private final decimal ttl;\n" +
+            "    private final map<TransformerCacheEntry> entries = {};\n" +
+            "    private int hits = 0;\n" +
+            "    private int misses = 0;\n" +
+            "    private int evictions = 0;\n" +
+            "\n" +
+            "    isolated function init(int capacity, decimal ttl) {\n" +
+            "        self.capacity = capacity;\n" +
+            "        self.ttl = ttl;\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function get(string key) returns TransformerCacheEntry? {\n" +
+            "        decimal now = time:monotonicNow();\n" +
+            "        lock {\n" +
+            "            TransformerCacheEntry? entry = self.entries[key];\n" +
+            "            if entry is () {\n" +
+            "                self.misses += 1;\n" +
+            "                return ();\n" +
+            "            }\n" +
+            "            if self.ttl > 0d && now - entry.createdAt > self.ttl {\n" +
+            "                _ = self.entries.remove(key);\n" +
+            "                self.evictions += 1;\n" +
+            "                self.misses += 1;\n" +
+            "                return ();\n" +
+            "            }\n" +
+            "            self.hits += 1;\n" +
+            "            TransformerCacheEntry accessedEntry = {value: entry.value, createdAt: entry.createdAt, " +
+            "lastAccessedAt: now};\n" +
+            "            self.entries[key] = accessedEntry;\n" +
+            "            return accessedEntry;\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function put(string key, anydata value) {\n" +
+            "        decimal now = time:monotonicNow();\n" +
+            "        TransformerCacheEntry entry = {value: value.cloneReadOnly(), createdAt: now, " +
+            "lastAccessedAt: now};\n" +
+            "        lock {\n" +
+            "            if self.capacity <= 0 {\n" +
+            "                return;\n" +
+            "            }\n" +
+            "            if !self.entries.hasKey(key) && self.entries.length() >= self.capacity {\n" +
+            "                self.evict();\n" +
+            "            }\n" +
+            "            self.entries[key] = entry;\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function stats() returns TransformerCacheStats {\n" +
+            "        lock {\n" +
+            "            return {size: self.entries.length(), hits: self.hits, misses: self.misses, " +
+            "evictions: self.evictions};\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    // Evicts the least recently used tenth of the entries, so that a full cache is not swept per put\n" +
+            "    private isolated function evict() {\n" +
+            "        lock {\n" +
+            "            decimal[] accessTimes = [];\n" +
+            "            foreach TransformerCacheEntry entry in self.entries {\n" +
+            "                accessTimes.push(entry.lastAccessedAt);\n" +
+            "            }\n" +
+            "            if accessTimes.length() == 0 {\n" +
+            "                return;\n" +
+            "            }\n" +
+            "            accessTimes = accessTimes.sort();\n" +
+            "            int evictionCount = int:min(int:max(1, self.capacity / 10), accessTimes.length());\n" +
+            "            decimal threshold = accessTimes[evictionCount - 1];\n" +
+            "            foreach string key in self.entries.keys() {\n" +
+            "                if evictionCount > 0 && self.entries.get(key).lastAccessedAt <= threshold {\n" +
+            "                    _ = self.entries.remove(key);\n" +
+            "                    self.evictions += 1;\n" +
+            "                    evictionCount -= 1;\n" +
+            "                }\n" +
+            "            }\n" +
+            "        }\n" +
+            "    }\n" +
+            "}";
+    private static final String FLIGHT_RESULT_RECORD = "type TransformerFlightResult readonly & record {|\n" +
+            "    anydata|error value;\n" +
+            "    int followers;\n" +
+            "|};";
+    private static final String FLIGHT_TIMEOUT_ERROR = "type TransformerFlightTimeout distinct error;";
+    private static final String SINGLE_FLIGHT_STATS_RECORD = "public type TransformerSingleFlightStats record {|\n" +
+            "    int inFlight;\n" +
+            "    int coalesced;\n" +
+            "    int timedOut;\n" +
+            "|};";
+    private static final String SINGLE_FLIGHT_CLASS = "isolated class TransformerSingleFlight {\n" +
+            "    private final decimal maxWait;\n" +
+            "    private final map<[int, int]> flights = {};\n" +
+            "    private final map<TransformerFlightResult> results = {};\n" +
+            "    private int nextFlightId = 0;\n" +
+            "    private int coalesced = 0;\n" +
+            "    private int timedOut = 0;\n" +
+            "\n" +
+            "    isolated function init(decimal maxWait) {\n" +
+            "        self.maxWait = maxWait;\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function join(string key) returns [int, boolean] {\n" +
+            "        lock {\n" +
+            "            [int, int]? flight = self.flights[key];\n" +
+            "            if flight is () {\n" +
+            "                int flightId = self.nextFlightId;\n" +
+            "                self.nextFlightId += 1;\n" +
+            "                self.flights[key] = [flightId, 0];\n" +
+            "                return [flightId, true];\n" +
+            "            }\n" +
+            "            flight[1] += 1;\n" +
+            "            self.coalesced += 1;\n" +
+            "            return [flight[0], false];\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function complete(string key, (readonly & anydata)|error result) {\n" +
+            "        lock {\n" +
+            "            [int, int] [flightId, followers] = self.flights.remove(key);\n" +
+            "            if followers > 0 {\n" +
+            "                self.results[flightId.toString()] = {value: result, followers: followers};\n" +
+            "            }\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    // Waits for the leader of the flight and hands its result over, dropping the result once every\n" +
+            "    // follower of the flight has taken it. The result is polled with an exponential backoff, and a\n" +
+            "    // follower which is not handed the result within the wait bound leaves the flight\n" +
+            "    isolated function await(string key, int flightId) returns anydata|error {\n" +
+            "        string resultKey = flightId.toString();\n" +
+            "        decimal waited = 0;\n" +
+            "        decimal backoff = 0.001;\n" +
+            "        while true {\n" +
+            "            lock {\n" +
+            "                TransformerFlightResult? flightResult = self.results[resultKey];\n" +
+            "                if flightResult is TransformerFlightResult {\n" +
+            "                    if flightResult.followers > 1 {\n" +
+            "                        self.results[resultKey] = {value: flightResult.value, " +
+            "followers: flightResult.followers - 1};\n" +
+            "                    } else {\n" +
+            "                        _ = self.results.remove(resultKey);\n" +
+            "                    }\n" +
+            "                    return flightResult.value;\n" +
+            "                }\n" +
+            "                if waited >= self.maxWait {\n" +
+            "                    [int, int]? flight = self.flights[key];\n" +
+            "                    if flight is [int, int] && flight[0] == flightId {\n" +
+            "                        flight[1] -= 1;\n" +
+            "                    }\n" +
+            "                    self.timedOut += 1;\n" +
+            "                    return error TransformerFlightTimeout(\"Coalesced request timed out\");\n" +
+            "                }\n" +
+            "            }\n" +
+            "            runtime:sleep(backoff);\n" +
+            "            waited += backoff;\n" +
+            "            backoff = decimal:min(backoff * 2, 0.05);\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function stats() returns TransformerSingleFlightStats {\n" +
+            "        lock {\n" +
+            "            return {inFlight: self.flights.length(), coalesced: self.coalesced, " +
+            "timedOut: self.timedOut};\n" +
+            "        }\n" +
+            "    }\n" +
+            "}";
+    private static final String ADMISSION_SUFFIX = "Admission";
+    private static final String ADMITTED_SUFFIX = "Admitted";
+    private static final String ADMISSION_REJECTION_TYPES = "http:TooManyRequests|http:ServiceUnavailable";
+    private static final String ADMISSION_STATEMENTS =
+            "    " + ADMISSION_REJECTION_TYPES + "? rejection = %1$s.acquire();\n" +
+            "    if rejection !is () {\n" +
+            "        return rejection;\n" +
+            "    }\n" +
+            "    %2$s result = trap %3$s;\n" +
+            "    %1$s.release();\n" +
+            "    return result;\n";
+    // With a deadline, the slot is released by the strand of the timed call once the transformer returns, as the
+    // strand keeps running after the deadline is exceeded
+    private static final String TIMED_ADMISSION_STATEMENTS =
+            "    " + ADMISSION_REJECTION_TYPES + "? rejection = %1$s.acquire();\n" +
+            "    if rejection !is () {\n" +
+            "        return rejection;\n" +
+            "    }\n" +
+            "    return %3$s;\n";
+    private static final String TIMED_CALL_BODY = "{\n" +
+            "    %1$s result = trap %2$s;\n" +
+            "    %3$s.release();\n" +
+            "    return [result];\n" +
+            "}";
+    private static final String ADMISSION_STATS_RECORD = "public type TransformerAdmissionStats record {|\n" +
+            "    int active;\n" +
+            "    int queued;\n" +
+            "    int rejected;\n" +
+            "|};";
+    private static final String REJECTION_RECORD = "public type TransformerRejection record {|\n" +
+            "    string message;\n" +
+            "    int retryAfter;\n" +
+            "|};";
+    private static final String ADMISSION_CLASS = "isolated class TransformerAdmission {\n" +
+            "    private final int maxConcurrency;\n" +
+            "    private final int maxQueued;\n" +
+            "    private final int rejectionStatus;\n" +
+            "    private final int retryAfter;\n" +
+            "    private final decimal queueTimeout;\n" +
+            "    private final map<boolean> abandonedTickets = {};\n" +
+            "    private int active = 0;\n" +
+            "    private int queued = 0;\n" +
+            "    private int rejected = 0;\n" +
+            "    // Tickets of the queued requests in the order of arrival, and the ticket at the head of the queue\n" +
+            "    private int nextTicket = 0;\n" +
+            "    private int servingTicket = 0;\n" +
+            "\n" +
+            "    isolated function init(int maxConcurrency, int maxQueued, int rejectionStatus, int retryAfter,\n" +
+            "            decimal queueTimeout) {\n" +
+            "        self.maxConcurrency = maxConcurrency;\n" +
+            "        self.maxQueued = maxQueued;\n" +
+            "        self.rejectionStatus = rejectionStatus;\n" +
+            "        self.retryAfter = retryAfter;\n" +
+            "        self.queueTimeout = queueTimeout;\n" +
+            "    }\n" +
+            "\n" +
+            "    // Takes a free slot, or waits for one in the order of arrival while there is room in the queue.\n" +
+            "    // A request is rejected right away once the queue is full, and after the queue timeout while it\n" +
+            "    // is queued. The queue is polled with an exponential backoff, as there is no condition variable\n" +
+            "    // to wait on\n" +
+            "    isolated function acquire() returns " + ADMISSION_REJECTION_TYPES + "? {\n" +
+            "        int ticket = -1;\n" +
+            "        lock {\n" +
+            "            // A free slot goes to an arriving request only when no request is queued ahead of it\n" +
+            "            if self.active < self.maxConcurrency && self.queued == 0 {\n" +
+            "                self.active += 1;\n" +
+            "                return;\n" +
+            "            }\n" +
+            "            if self.queued < self.maxQueued {\n" +
+            "                ticket = self.nextTicket;\n" +
+            "                self.nextTicket += 1;\n" +
+            "                self.queued += 1;\n" +
+            "            } else {\n" +
+            "                self.rejected += 1;\n" +
+            "            }\n" +
+            "        }\n" +
+            "        if ticket < 0 {\n" +
+            "            return self.reject();\n" +
+            "        }\n" +
+            "        decimal waited = 0;\n" +
+            "        decimal backoff = 0.001;\n" +
+            "        boolean isTimedOut = false;\n" +
+            "        while !isTimedOut {\n" +
+            "            lock {\n" +
+            "                if ticket == self.servingTicket && self.active < self.maxConcurrency {\n" +
+            "                    self.queued -= 1;\n" +
+            "                    self.active += 1;\n" +
+            "                    self.servingTicket += 1;\n" +
+            "                    self.skipAbandonedTickets();\n" +
+            "                    return;\n" +
+            "                }\n" +
+            "                if waited >= self.queueTimeout {\n" +
+            "                    self.queued -= 1;\n" +
+            "                    self.rejected += 1;\n" +
+            "                    if ticket == self.servingTicket {\n" +
+            "                        self.servingTicket += 1;\n" +
+            "                        self.skipAbandonedTickets();\n" +
+            "                    } else {\n" +
+            "                        self.abandonedTickets[ticket.toString()] = true;\n" +
+            "                    }\n" +
+            "                    isTimedOut = true;\n" +
+            "                }\n" +
+            "            }\n" +
+            "            if !isTimedOut {\n" +
+            "                runtime:sleep(backoff);\n" +
+            "                waited += backoff;\n" +
+            "                backoff = decimal:min(backoff * 2, 0.01);\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return self.reject();\n" +
+            "    }\n" +
+            "\n" +
+            "    // Moves the head of the queue past the tickets of the requests which left the queue on timeout\n" +
+            "    private isolated function skipAbandonedTickets() {\n" +
+            "        lock {\n" +
+            "            while self.abandonedTickets.hasKey(self.servingTicket.toString()) {\n" +
+            "                _ = self.abandonedTickets.remove(self.servingTicket.toString());\n" +
+            "                self.servingTicket += 1;\n" +
+            "            }\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function release() {\n" +
+            "        lock {\n" +
+            "            self.active -= 1;\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function stats() returns TransformerAdmissionStats {\n" +
+            "        lock {\n" +
+            "            return {active: self.active, queued: self.queued, rejected: self.rejected};\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function reject() returns " + ADMISSION_REJECTION_TYPES + " {\n" +
+            "        map<string> headers = {\"Retry-After\": self.retryAfter.toString()};\n" +
+            "        TransformerRejection body = {message: \"Transformer is at its concurrency limit\", " +
+            "retryAfter: self.retryAfter};\n" +
+            "        if self.rejectionStatus == 429 {\n" +
+            "            http:TooManyRequests tooManyRequests = {headers: headers, body: body};\n" +
+            "            return tooManyRequests;\n" +
+            "        }\n" +
+            "        http:ServiceUnavailable serviceUnavailable = {headers: headers, body: body};\n" +
+            "        return serviceUnavailable;\n" +
+            "    }\n" +
+            "}";
+    private static final String DEADLINE_SUFFIX = "Deadline";
+    private static final String TIMED_SUFFIX = "Timed";
+    private static final String DEADLINE_EXCEEDED_TYPE = "http:GatewayTimeout";
+    private static final String TIMED_CALL_SUFFIX = "Call";
+    // The result of the call is wrapped in a tuple and the deadline completes with nil, as an alternate wait passes
+    // over the futures which complete with an error
+    private static final String DEADLINE_STATEMENTS =
+            "    int callId = %1$s.begin();\n" +
+            "    future<[%2$s]> call = start %3$s;\n" +
+            "    future<()> deadline = start %1$s.expire(callId);\n" +
+            "    [%2$s]? outcome = wait call | deadline;\n" +
+            "    if outcome is () {\n" +
+            "        call.cancel();\n" +
+            "        return %1$s.exceed();\n" +
+            "    }\n" +
+            "    %1$s.complete(callId);\n" +
+            "    return outcome[0];\n";
+    private static final String TIMEOUT_RECORD = "public type TransformerTimeout record {|\n" +
+            "    string message;\n" +
+            "    decimal timeout;\n" +
+            "|};";
+    private static final String DEADLINE_STATS_RECORD = "public type TransformerDeadlineStats record {|\n" +
+            "    int timedOut;\n" +
+            "|};";
+    private static final String DEADLINE_CLASS = "isolated class TransformerDeadline {\n" +
+            "    private final decimal timeout;\n" +
+            "    // Whether each call with a pending timer has completed\n" +
+            "    private final map<boolean> calls = {};\n" +
+            "    private int nextCallId = 0;\n" +
+            "    private int timedOut = 0;\n" +
+            "\n" +
+            "    isolated function init(decimal timeout) {\n" +
+            "        self.timeout = timeout;\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function begin() returns int {\n" +
+            "        lock {\n" +
+            "            int callId = self.nextCallId;\n" +
+            "            self.nextCallId += 1;\n" +
+            "            self.calls[callId.toString()] = false;\n" +
+            "            return callId;\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    // Completes once the timeout has elapsed, to be raced against the call of the transformer. The\n" +
+            "    // timer sleeps in steps growing up to 100 ms and stops once the call completes, so the timer of a\n" +
+            "    // quick call is parked for about as long as the call rather than for the whole timeout\n" +
+            "    isolated function expire(int callId) {\n" +
+            "        string callKey = callId.toString();\n" +
+            "        decimal waited = 0;\n" +
+            "        decimal step = 0.001;\n" +
+            "        boolean isCompleted = false;\n" +
+            "        while !isCompleted && waited < self.timeout {\n" +
+            "            decimal sleepTime = decimal:min(step, self.timeout - waited);\n" +
+            "            runtime:sleep(sleepTime);\n" +
+            "            waited += sleepTime;\n" +
+            "            step = decimal:min(step * 2, 0.1);\n" +
+            "            lock {\n" +
+            "                isCompleted = self.calls[callKey] == true;\n" +
+            "            }\n" +
+            "        }\n" +
+            "        lock {\n" +
+            "            _ = self.calls.removeIfHasKey(callKey);\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    // Stops the timer of the call, unless the timer has already stopped\n" +
+            "    isolated function complete(int callId) {\n" +
+            "        lock {\n" +
+            "            if self.calls.hasKey(callId.toString()) {\n" +
+            "                self.calls[callId.toString()] = true;\n" +
+            "            }\n" +
+            "        }\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function exceed() returns " + DEADLINE_EXCEEDED_TYPE + " {\n" +
+            "        lock {\n" +
+            "            self.timedOut += 1;\n" +
+            "        }\n" +
+            "        TransformerTimeout body = {message: \"Transformer did not complete within its deadline\", " +
+            "timeout: self.timeout};\n" +
+            "        " + DEADLINE_EXCEEDED_TYPE + " gatewayTimeout = {body: body};\n" +
+            "        return gatewayTimeout;\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function stats() returns TransformerDeadlineStats {\n" +
+            "        lock {\n" +
+            "            return {timedOut: self.timedOut};\n" +
+            "        }\n" +
+            "    }\n" +
+            "}";
+    private static final String PAYLOAD_LIMITS_SUFFIX = "PayloadLimits";
+    private static final String BOUNDED_SUFFIX = "Bounded";
+    private static final String PAYLOAD_TOO_LARGE_TYPE = "http:PayloadTooLarge";
+    private static final String BAD_REQUEST_TYPE = "http:BadRequest";
+    private static final String NEGOTIATED_RESPONSE_TYPE = "http:Response";
+    private static final String LIMITED_BODY_STATEMENTS =
+            "    byte[]|http:PayloadTooLarge|error body = %1$s.read(%2$s, %3$s);\n" +
+            "    if body is http:PayloadTooLarge {\n" +
+            "        return body;\n" +
+            "    }\n";
+    private static final String BODY_STATEMENT = "    byte[]|error body = %1$s.getBinaryPayload();\n";
+    // The body is decoded without a check, so that a body which is not valid UTF-8 is a bad request
+    private static final String JSON_BINDING_STATEMENTS =
+            "    string|error text = string:fromBytes(check body);\n" +
+            "    %1$s|error %2$s = text is error ? text : text.fromJsonStringWithType();\n";
+    private static final String DECODED_BINDING_STATEMENTS =
+            "    json|error document = transformerDecode(%3$s.getContentType(), check body, %4$s);\n" +
+            "%5$s" +
+            "    %1$s|error %2$s = document is error ? document : document.fromJsonWithType();\n";
+    private static final String DECODED_LIMITS_STATEMENTS =
+            "    if document is TransformerPayloadLimitExceeded {\n" +
+            "        return %1$s.reject(document.message());\n" +
+            "    }\n";
+    private static final String JSON_BODY_CONDITION = "true";
+    private static final String RAW_BODY_CONDITION = "false";
+    private static final String DECODED_BODY_CONDITION = "!transformerIsBinary(%1$s.getContentType())";
+    private static final String BAD_REQUEST_STATEMENTS =
+            "    if %1$s is error {\n" +
+            "        http:BadRequest badRequest = {body: %1$s.message()};\n" +
+            "        return badRequest;\n" +
+            "    }\n";
+    private static final String NEGOTIATED_RETURN_STATEMENTS =
+            "    %1$s result = %2$s;\n" +
+            "    if result is anydata {\n" +
+            "        return transformerRespond(%3$s, result);\n" +
+            "    }\n" +
+            "    return result;\n";
+    private static final String PAYLOAD_VIOLATION_RECORD = "public type TransformerPayloadViolation record {|\n" +
+            "    string message;\n" +
+            "|};";
+    private static final String PAYLOAD_LIMITS_STATS_RECORD = "public type TransformerPayloadLimitsStats record {|\n" +
+            "    int rejected;\n" +
+            "|};";
+    // Scan state of a JSON body, where the element count of each enclosing array is kept and objects are kept as 0
+    private static final String JSON_SCAN_RECORD = "type TransformerJsonScan record {|\n" +
+            "    int[] elementCounts = [];\n" +
+            "    boolean isInString = false;\n" +
+            "    boolean isEscaped = false;\n" +
+            "|};";
+    private static final String PAYLOAD_LIMITS_CLASS = "isolated class TransformerPayloadLimits {\n" +
+            "    private final int maxBodySize;\n" +
+            "    private final int maxDepth;\n" +
+            "    private final int maxElements;\n" +
+            "    private int rejected = 0;\n" +
+            "\n" +
+            "    isolated function init(int maxBodySize, int maxDepth, int maxElements) {\n" +
+            "        self.maxBodySize = maxBodySize;\n" +
+            "        self.maxDepth = maxDepth;\n" +
+            "        self.maxElements = maxElements;\n" +
+            "    }\n" +
+            "\n" +
+            "    // Reads the request body up to the size limit, rejecting the request by its Content-Length header\n" +
+            "    // before reading the body when the header is present. Only the JSON bodies are scanned for the\n" +
+            "    // depth and element limits, as the binary payloads are limited while decoded and the raw string\n" +
+            "    // and byte[] bodies have no structure. Each chunk is scanned as it is read, so that the request\n" +
+            "    // is rejected once a limit is crossed, without reading the rest of the body\n" +
+            "    isolated function read(http:Request request, boolean isJson)\n" +
+            "            returns byte[]|http:PayloadTooLarge|error {\n" +
+            "        if self.maxBodySize > 0 {\n" +
+            "            string|http:HeaderNotFoundError contentLength = request.getHeader(\"Content-Length\");\n" +
+            "            if contentLength is string {\n" +
+            "                int|error length = int:fromString(contentLength);\n" +
+            "                if length is int && length > self.maxBodySize {\n" +
+            "                    return self.reject(\"Request body exceeds \" + self.maxBodySize.toString() + " +
+            "\" bytes\");\n" +
+            "                }\n" +
+            "            }\n" +
+            "        }\n" +
+            "        boolean isScanned = isJson && (self.maxDepth > 0 || self.maxElements > 0);\n" +
+            "        TransformerJsonScan scanState = {};\n" +
+            "        var byteStream = check request.getByteStream();\n" +
+            "        byte[] body = [];\n" +
+            "        while true {\n" +
+            "            record {|byte[] value;|}? chunk = check byteStream.next();\n" +
+            "            if chunk is () {\n" +
+            "                break;\n" +
+            "            }\n" +
+            "            body.push(...chunk.value);\n" +
+            "            string? violation = ();\n" +
+            "            if self.maxBodySize > 0 && body.length() > self.maxBodySize {\n" +
+            "                violation = \"Request body exceeds \" + self.maxBodySize.toString() + \" bytes\";\n" +
+            "            } else if isScanned {\n" +
+            "                violation = self.scan(scanState, chunk.value);\n" +
+            "            }\n" +
+            "            if violation is string {\n" +
+            "                check byteStream.close();\n" +
+            "                return self.reject(violation);\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return body;\n" +
+            "    }\n" +
+            "\n" +
+            "    // Scans the JSON tokens of a chunk of the body for the nesting depth and the number of elements\n" +
+            "    // of each array, without building the JSON value. The scan state is kept across the chunks\n" +
+            "    isolated function scan(TransformerJsonScan scanState, byte[] chunk) returns string? {\n" +
+            "        foreach byte token in chunk {\n" +
+            "            if scanState.isInString {\n" +
+            "                if scanState.isEscaped {\n" +
+            "                    scanState.isEscaped = false;\n" +
+            "                } else if token == 92 {\n" +
+            "                    scanState.isEscaped = true;\n" +
+            "                } else if token == 34 {\n" +
+            "                    scanState.isInString = false;\n" +
+            "                }\n" +
+            "            } else if token == 34 {\n" +
+            "                scanState.isInString = true;\n" +
+            "            } else if token == 91 || token == 123 {\n" +
+            "                scanState.elementCounts.push(token == 91 ? 1 : 0);\n" +
+            "                if self.maxDepth > 0 && scanState.elementCounts.length() > self.maxDepth {\n" +
+            "                    return \"Request body is nested deeper than \" + self.maxDepth.toString() + " +
+            "\" levels\";\n" +
+            "                }\n" +
+            "            } else if token == 93 || token == 125 {\n" +
+            "                if scanState.elementCounts.length() > 0 {\n" +
+            "                    _ = scanState.elementCounts.pop();\n" +
+            "                }\n" +
+            "            } else if token == 44 && scanState.elementCounts.length() > 0 {\n" +
+            "                int index = scanState.elementCounts.length() - 1;\n" +
+            "                if scanState.elementCounts[index] > 0 {\n" +
+            "                    scanState.elementCounts[index] += 1;\n" +
+            "                    if self.maxElements > 0 && scanState.elementCounts[index] > self.maxElements {\n" +
+            "                        return \"Request body has an array of more than \" + " +
+            "self.maxElements.toString() + \" elements\";\n" +
+            "                    }\n" +
+            "                }\n" +
+            "            }\n" +
+            "        }\n" +
+            "        return;\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function reject(string message) returns http:PayloadTooLarge {\n" +
+            "        lock {\n" +
+            "            self.rejected += 1;\n" +
+            "        }\n" +
+            "        TransformerPayloadViolation body = {message: message};\n" +
+            "        http:PayloadTooLarge payloadTooLarge = {body: body};\n" +
+            "        return payloadTooLarge;\n" +
+            "    }\n" +
+            "\n" +
+            "    isolated function stats() returns TransformerPayloadLimitsStats {\n" +
+            "        lock {\n" +
+            "            return {rejected: self.rejected};\n" +
+            "        }\n" +
+            "    }\n" +
+            "}";
+    private static final String PAYLOAD_LIMIT_EXCEEDED_ERROR = "type TransformerPayloadLimitExceeded distinct error;";
+    // The element limit of the cursor is 0 when the document is not limited, in the same way as the payload limits,
+    // while the depth is always limited, as each nested item is read by a recursive call
+    private static final int MAX_DOCUMENT_DEPTH = 128;
+    private static final String PAYLOAD_CURSOR_RECORD = "type TransformerCursor record {|\n" +
+            "    byte[] bytes;\n" +
+            "    int position;\n" +
+            "    int depth;\n" +
+            "    int maxDepth;\n" +
+            "    int maxElements;\n" +
+            "|};";
+    private static final String PAYLOAD_CODEC_FUNCTIONS =
+            "// Returns the media type without its parameters, in lower case\n" +
+            "isolated function transformerMediaType(string mediaType) returns string {\n" +
+            "    int? parametersIndex = mediaType.indexOf(\";\");\n" +
+            "    string baseType = parametersIndex is int ? mediaType.substring(0, parametersIndex) : mediaType;\n" +
+            "    return baseType.trim().toLowerAscii();\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerReadByte(TransformerCursor cursor) returns int|error {\n" +
+            "    if cursor.position >= cursor.bytes.length() {\n" +
+            "        return error(\"Unexpected end of the payload\");\n" +
+            "    }\n" +
+            "    int value = cursor.bytes[cursor.position];\n" +
+            "    cursor.position += 1;\n" +
+            "    return value;\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerReadBytes(TransformerCursor cursor, int length) returns byte[]|error {\n" +
+            "    if length > cursor.bytes.length() - cursor.position {\n" +
+            "        return error(\"Unexpected end of the payload\");\n" +
+            "    }\n" +
+            "    byte[] value = cursor.bytes.slice(cursor.position, cursor.position + length);\n" +
+            "    cursor.position += length;\n" +
+            "    return value;\n" +
+            "}\n" +
+            "\n" +
+            "// Reads the bits of a big-endian integer of the given number of bytes\n" +
+            "isolated function transformerReadBits(TransformerCursor cursor, int size) returns int|error {\n" +
+            "    int bits = 0;\n" +
+            "    int index = 0;\n" +
+            "    while index < size {\n" +
+            "        bits = (bits << 8) | check transformerReadByte(cursor);\n" +
+            "        index += 1;\n" +
+            "    }\n" +
+            "    return bits;\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerReadUint(TransformerCursor cursor, int size) returns int|error {\n" +
+            "    int value = check transformerReadBits(cursor, size);\n" +
+            "    if value < 0 {\n" +
+            "        return error(\"Payload integer exceeds the int range\");\n" +
+            "    }\n" +
+            "    return value;\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerWriteUint(byte[] out, int value, int size) {\n" +
+            "    int shift = (size - 1) * 8;\n" +
+            "    while shift >= 0 {\n" +
+            "        out.push(<byte>((value >> shift) & 0xFF));\n" +
+            "        shift -= 8;\n" +
+            "    }\n" +
+            "}\n" +
+            "\n" +
+            "// Returns the value of the IEEE 754 floating point bits of the given exponent and mantissa sizes\n" +
+            "isolated function transformerFloatFromBits(int bits, int exponentSize, int mantissaSize)\n" +
+            "        returns float {\n" +
+            "    int exponentBias = (1 << (exponentSize - 1)) - 1;\n" +
+            "    int exponent = (bits >> mantissaSize) & ((1 << exponentSize) - 1);\n" +
+            "    float mantissa = <float>(bits & ((1 << mantissaSize) - 1)) / <float>(1 << mantissaSize);\n" +
+            "    float sign = ((bits >> (exponentSize + mantissaSize)) & 1) == 1 ? -1.0 : 1.0;\n" +
+            "    if exponent == (1 << exponentSize) - 1 {\n" +
+            "        return mantissa == 0.0 ? sign * float:Infinity : float:NaN;\n" +
+            "    }\n" +
+            "    if exponent == 0 {\n" +
+            "        return sign * mantissa * float:pow(2.0, <float>(1 - exponentBias));\n" +
+            "    }\n" +
+            "    return sign * (1.0 + mantissa) * float:pow(2.0, <float>(exponent - exponentBias));\n" +
+            "}\n" +
+            "\n" +
+            "// Enters an array or a map, failing once the document is nested deeper than its depth limit\n" +
+            "isolated function transformerEnter(TransformerCursor cursor) returns error? {\n" +
+            "    cursor.depth += 1;\n" +
+            "    if cursor.depth > cursor.maxDepth {\n" +
+            "        return error TransformerPayloadLimitExceeded(\"Request body is nested deeper than \" +\n" +
+            "                cursor.maxDepth.toString() + \" levels\");\n" +
+            "    }\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerReadArray(TransformerCursor cursor, int length,\n" +
+            "        isolated function (TransformerCursor) returns json|error readValue) returns json[]|error {\n" +
+            "    // The declared length is limited before any element is read\n" +
+            "    if cursor.maxElements > 0 && length > cursor.maxElements {\n" +
+            "        return error TransformerPayloadLimitExceeded(\"Request body has an array of more than \" +\n" +
+            "                cursor.maxElements.toString() + \" elements\");\n" +
+            "    }\n" +
+            "    // Each element takes at least a byte, which bounds the declared length before the allocation\n" +
+            "    if length > cursor.bytes.length() - cursor.position {\n" +
+            "        return error(\"Unexpected end of the payload\");\n" +
+            "    }\n" +
+            "    check transformerEnter(cursor);\n" +
+            "    json[] values = [];\n" +
+            "    int index = 0;\n" +
+            "    while index < length {\n" +
+            "        values.push(check readValue(cursor));\n" +
+            "        index += 1;\n" +
+            "    }\n" +
+            "    cursor.depth -= 1;\n" +
+            "    return values;\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerReadMap(TransformerCursor cursor, int length,\n" +
+            "        isolated function (TransformerCursor) returns json|error readValue)\n" +
+            "        returns map<json>|error {\n" +
+            "    if length > cursor.bytes.length() - cursor.position {\n" +
+            "        return error(\"Unexpected end of the payload\");\n" +
+            "    }\n" +
+            "    check transformerEnter(cursor);\n" +
+            "    map<json> values = {};\n" +
+            "    int index = 0;\n" +
+            "    while index < length {\n" +
+            "        json key = check readValue(cursor);\n" +
+            "        if key !is string {\n" +
+            "            return error(\"Payload map keys should be strings\");\n" +
+            "        }\n" +
+            "        values[key] = check readValue(cursor);\n" +
+            "        index += 1;\n" +
+            "    }\n" +
+            "    cursor.depth -= 1;\n" +
+            "    return values;\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerReadDocument(byte[] body,\n" +
+            "        isolated function (TransformerCursor) returns json|error readValue, int maxDepth,\n" +
+            "        int maxElements) returns json|error {\n" +
+            "    // The documents without a depth limit are still kept within the nesting the decoders can recurse\n" +
+            "    TransformerCursor cursor = {bytes: body, position: 0, depth: 0,\n" +
+            "            maxDepth: maxDepth > 0 ? maxDepth : " + MAX_DOCUMENT_DEPTH + ", maxElements};\n" +
+            "    json document = check readValue(cursor);\n" +
+            "    if cursor.position < body.length() {\n" +
+            "        return error(\"Unexpected bytes after the end of the payload\");\n" +
+            "    }\n" +
+            "    return document;\n" +
+            "}";
+    private static final String CBOR_CODEC_FUNCTIONS =
+            "isolated function transformerReadCbor(TransformerCursor cursor) returns json|error {\n" +
+            "    int head = check transformerReadByte(cursor);\n" +
+            "    // The tags only annotate the item which follows them, so they are skipped without a nested call\n" +
+            "    while head >> 5 == 6 {\n" +
+            "        int tagInfo = head & 0x1F;\n" +
+            "        if tagInfo > 27 {\n" +
+            "            return error(\"Unsupported CBOR tag \" + tagInfo.toString());\n" +
+            "        }\n" +
+            "        if tagInfo >= 24 {\n" +
+            "            _ = check transformerReadBits(cursor, 1 << (tagInfo - 24));\n" +
+            "        }\n" +
+            "        head = check transformerReadByte(cursor);\n" +
+            "    }\n" +
+            "    int majorType = head >> 5;\n" +
+            "    int info = head & 0x1F;\n" +
+            "    if majorType == 7 {\n" +
+            "        if info == 20 || info == 21 {\n" +
+            "            return info == 21;\n" +
+            "        } else if info == 22 || info == 23 {\n" +
+            "            return ();\n" +
+            "        } else if info == 25 {\n" +
+            "            return transformerFloatFromBits(check transformerReadUint(cursor, 2), 5, 10);\n" +
+            "        } else if info == 26 {\n" +
+            "            return transformerFloatFromBits(check transformerReadUint(cursor, 4), 8, 23);\n" +
+            "        } else if info == 27 {\n" +
+            "            return float:fromBitsInt(check transformerReadBits(cursor, 8));\n" +
+            "        }\n" +
+            "        return error(\"Unsupported CBOR simple value \" + info.toString());\n" +
+            "    }\n" +
+            "    if info > 27 {\n" +
+            "        return error(\"Indefinite length CBOR items are not supported\");\n" +
+            "    }\n" +
+            "    int argument = info < 24 ? info : check transformerReadUint(cursor, 1 << (info - 24));\n" +
+            "    if majorType == 0 {\n" +
+            "        return argument;\n" +
+            "    } else if majorType == 1 {\n" +
+            "        return -1 - argument;\n" +
+            "    } else if majorType == 2 {\n" +
+            "        return check transformerReadBytes(cursor, argument);\n" +
+            "    } else if majorType == 3 {\n" +
+            "        return string:fromBytes(check transformerReadBytes(cursor, argument));\n" +
+            "    } else if majorType == 4 {\n" +
+            "        return transformerReadArray(cursor, argument, transformerReadCbor);\n" +
+            "    }\n" +
+            "    return transformerReadMap(cursor, argument, transformerReadCbor);\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerWriteCborHead(byte[] out, int majorType, int argument) {\n" +
+            "    int head = majorType << 5;\n" +
+            "    if argument < 24 {\n" +
+            "        out.push(<byte>(head | argument));\n" +
+            "    } else if argument < 0x100 {\n" +
+            "        out.push(<byte>(head | 24));\n" +
+            "        transformerWriteUint(out, argument, 1);\n" +
+            "    } else if argument < 0x10000 {\n" +
+            "        out.push(<byte>(head | 25));\n" +
+            "        transformerWriteUint(out, argument, 2);\n" +
+            "    } else if argument < 0x100000000 {\n" +
+            "        out.push(<byte>(head | 26));\n" +
+            "        transformerWriteUint(out, argument, 4);\n" +
+            "    } else {\n" +
+            "        out.push(<byte>(head | 27));\n" +
+            "        transformerWriteUint(out, argument, 8);\n" +
+            "    }\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerWriteCbor(byte[] out, anydata value) {\n" +
+            "    if value is () {\n" +
+            "        out.push(0xF6);\n" +
+            "    } else if value is boolean {\n" +
+            "        out.push(value ? 0xF5 : 0xF4);\n" +
+            "    } else if value is int {\n" +
+            "        if value >= 0 {\n" +
+            "            transformerWriteCborHead(out, 0, value);\n" +
+            "        } else {\n" +
+            "            transformerWriteCborHead(out, 1, -1 - value);\n" +
+            "        }\n" +
+            "    } else if value is float|decimal {\n" +
+            "        out.push(0xFB);\n" +
+            "        transformerWriteUint(out, float:toBitsInt(<float>value), 8);\n" +
+            "    } else if value is byte[] {\n" +
+            "        transformerWriteCborHead(out, 2, value.length());\n" +
+            "        out.push(...value);\n" +
+            "    } else if value is anydata[] {\n" +
+            "        transformerWriteCborHead(out, 4, value.length());\n" +
+            "        foreach anydata member in value {\n" +
+            "            transformerWriteCbor(out, member);\n" +
+            "        }\n" +
+            "    } else if value is map<anydata> {\n" +
+            "        transformerWriteCborHead(out, 5, value.length());\n" +
+            "        foreach [string, anydata] [key, member] in value.entries() {\n" +
+            "            transformerWriteCbor(out, key);\n" +
+            "            transformerWriteCbor(out, member);\n" +
+            "        }\n" +
+            "    } else if value is table<map<anydata>> {\n" +
+            "        transformerWriteCborHead(out, 4, value.length());\n" +
+            "        foreach map<anydata> row in value {\n" +
+            "            transformerWriteCbor(out, row);\n" +
+            "        }\n" +
+            "    } else {\n" +
+            "        // Strings, and the XML values as their string form\n" +
+            "        byte[] bytes = value.toString().toBytes();\n" +
+            "        transformerWriteCborHead(out, 3, bytes.length());\n" +
+            "        out.push(...bytes);\n" +
+            "    }\n" +
+            "}";
+    private static final String MSGPACK_CODEC_FUNCTIONS =
+            "isolated function transformerReadMsgpack(TransformerCursor cursor) returns json|error {\n" +
+            "    int head = check transformerReadByte(cursor);\n" +
+            "    if head < 0x80 {\n" +
+            "        return head;\n" +
+            "    } else if head < 0x90 {\n" +
+            "        return transformerReadMap(cursor, head & 0x0F, transformerReadMsgpack);\n" +
+            "    } else if head < 0xA0 {\n" +
+            "        return transformerReadArray(cursor, head & 0x0F, transformerReadMsgpack);\n" +
+            "    } else if head < 0xC0 {\n" +
+            "        return string:fromBytes(check transformerReadBytes(cursor, head & 0x1F));\n" +
+            "    } else if head >= 0xE0 {\n" +
+            "        return head - 0x100;\n" +
+            "    } else if head == 0xC0 {\n" +
+            "        return ();\n" +
+            "    } else if head == 0xC2 || head == 0xC3 {\n" +
+            "        return head == 0xC3;\n" +
+            "    } else if head >= 0xC4 && head <= 0xC6 {\n" +
+            "        int length = check transformerReadUint(cursor, 1 << (head - 0xC4));\n" +
+            "        return check transformerReadBytes(cursor, length);\n" +
+            "    } else if head == 0xCA {\n" +
+            "        return transformerFloatFromBits(check transformerReadBits(cursor, 4), 8, 23);\n" +
+            "    } else if head == 0xCB {\n" +
+            "        return float:fromBitsInt(check transformerReadBits(cursor, 8));\n" +
+            "    } else if head >= 0xCC && head <= 0xCF {\n" +
+            "        return transformerReadUint(cursor, 1 << (head - 0xCC));\n" +
+            "    } else if head >= 0xD0 && head <= 0xD3 {\n" +
+            "        int size = 1 << (head - 0xD0);\n" +
+            "        int value = check transformerReadBits(cursor, size);\n" +
+            "        // The narrower integers are sign extended, as the bits of an int64 already are\n" +
+            "        return size < 8 && value >= (1 << (size * 8 - 1)) ? value - (1 << (size * 8)) : value;\n" +
+            "    } else if head >= 0xD9 && head <= 0xDB {\n" +
+            "        return string:fromBytes(check transformerReadBytes(cursor,\n" +
+            "                check transformerReadUint(cursor, 1 << (head - 0xD9))));\n" +
+            "    } else if head == 0xDC || head == 0xDD {\n" +
+            "        return transformerReadArray(cursor, check transformerReadUint(cursor, 2 << (head - 0xDC)),\n" +
+            "                transformerReadMsgpack);\n" +
+            "    } else if head == 0xDE || head == 0xDF {\n" +
+            "        return transformerReadMap(cursor, check transformerReadUint(cursor, 2 << (head - 0xDE)),\n" +
+            "                transformerReadMsgpack);\n" +
+            "    }\n" +
+            "    return error(\"Unsupported MessagePack type \" + head.toString());\n" +
+            "}\n" +
+            "\n" +
+            "// Writes the head of a string, binary, array or map of the given length, in its fixed form if it is\n" +
+            "// short enough, and otherwise in the 8 bit form if there is one, or in the 16 or 32 bit form\n" +
+            "isolated function transformerWriteMsgpackLength(byte[] out, int length, int fixHead, int fixLimit,\n" +
+            "        int head8, int head16) {\n" +
+            "    if length < fixLimit {\n" +
+            "        out.push(<byte>(fixHead | length));\n" +
+            "    } else if head8 > 0 && length < 0x100 {\n" +
+            "        out.push(<byte>head8);\n" +
+            "        transformerWriteUint(out, length, 1);\n" +
+            "    } else if length < 0x10000 {\n" +
+            "        out.push(<byte>head16);\n" +
+            "        transformerWriteUint(out, length, 2);\n" +
+            "    } else {\n" +
+            "        out.push(<byte>(head16 + 1));\n" +
+            "        transformerWriteUint(out, length, 4);\n" +
+            "    }\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerWriteMsgpackInt(byte[] out, int value) {\n" +
+            "    if (value >= 0 && value < 0x80) || (value < 0 && value >= -32) {\n" +
+            "        out.push(<byte>(value & 0xFF));\n" +
+            "    } else if value >= 0 {\n" +
+            "        int size = value < 0x100 ? 1 : value < 0x10000 ? 2 : value < 0x100000000 ? 4 : 8;\n" +
+            "        out.push(<byte>(size == 1 ? 0xCC : size == 2 ? 0xCD : size == 4 ? 0xCE : 0xCF));\n" +
+            "        transformerWriteUint(out, value, size);\n" +
+            "    } else {\n" +
+            "        int size = value >= -0x80 ? 1 : value >= -0x8000 ? 2 : value >= -0x80000000 ? 4 : 8;\n" +
+            "        out.push(<byte>(size == 1 ? 0xD0 : size == 2 ? 0xD1 : size == 4 ? 0xD2 : 0xD3));\n" +
+            "        transformerWriteUint(out, value, size);\n" +
+            "    }\n" +
+            "}\n" +
+            "\n" +
+            "isolated function transformerWriteMsgpack(byte[] out, anydata value) {\n" +
+            "    if value is () {\n" +
+            "        out.push(0xC0);\n" +
+            "    } else if value is boolean {\n" +
+            "        out.push(value ? 0xC3 : 0xC2);\n" +
+            "    } else if value is int {\n" +
+            "        transformerWriteMsgpackInt(out, value);\n" +
+            "    } else if value is float|decimal {\n" +
+            "        out.push(0xCB);\n" +
+            "        transformerWriteUint(out, float:toBitsInt(<float>value), 8);\n" +
+            "    } else if value is byte[] {\n" +
+            "        transformerWriteMsgpackLength(out, value.length(), 0, 0, 0xC4, 0xC5);\n" +
+            "        out.push(...value);\n" +
+            "    } else if value is anydata[] {\n" +
+            "        transformerWriteMsgpackLength(out, value.length(), 0x90, 16, 0, 0xDC);\n" +
+            "        foreach anydata member in value {\n" +
+            "            transformerWriteMsgpack(out, member);\n" +
+            "        }\n" +
+            "    } else if value is map<anydata> {\n" +
+            "        transformerWriteMsgpackLength(out, value.length(), 0x80, 16, 0, 0xDE);\n" +
+            "        foreach [string, anydata] [key, member] in value.entries() {\n" +
+            "            transformerWriteMsgpack(out, key);\n" +
+            "            transformerWriteMsgpack(out, member);\n" +
+            "        }\n" +
+            "    } else if value is table<map<anydata>> {\n" +
+            "        transformerWriteMsgpackLength(out, value.length(), 0x90, 16, 0, 0xDC);\n" +
+            "        foreach map<anydata> row in value {\n" +
+            "            transformerWriteMsgpack(out, row);\n" +
+            "        }\n" +
+            "    } else {\n" +
+            "        // Strings, and the XML values as their string form\n" +
+            "        byte[] bytes = value.toString().toBytes();\n" +
+            "        transformerWriteMsgpackLength(out, bytes.length(), 0xA0, 32, 0xD9, 0xDA);\n" +
+            "        out.push(...bytes);\n" +
+            "    }\n" +
+            "}";
+    private static final String PAYLOAD_DECODE_FUNCTION =
+            "// Decodes the body by its content type, where the binary documents are limited while decoded and the\n" +
+            "// JSON documents are already scanned for their limits\n" +
+            "isolated function transformerDecode(string contentType, byte[] body, int maxDepth, int maxElements)\n" +
+            "        returns json|error {\n" +
+            "    string mediaType = transformerMediaType(contentType);\n" +
+            "%1$s" +
+            "    return (check string:fromBytes(body)).fromJsonString();\n" +
+            "}";
+    private static final String PAYLOAD_DECODE_STATEMENTS = "    if %1$s {\n" +
+            "        return transformerReadDocument(body, %2$s, maxDepth, maxElements);\n" +
+            "    }\n";
+    private static final String BINARY_MEDIA_TYPE_FUNCTION =
+            "isolated function transformerIsBinary(string contentType) returns boolean {\n" +
+            "    string mediaType = transformerMediaType(contentType);\n" +
+            "    return %1$s;\n" +
+            "}";
+    private static final String ACCEPTED_MEDIA_TYPE_FUNCTION =
+            "// Returns the media type of the first binary payload format listed in the given Accept header, or an\n" +
+            "// empty string if JSON is listed before them\n" +
+            "isolated function transformerAcceptedMediaType(string accept) returns string {\n" +
+            "    int startIndex = 0;\n" +
+            "    while startIndex <= accept.length() {\n" +
+            "        int endIndex = accept.indexOf(\",\", startIndex) ?: accept.length();\n" +
+            "        string mediaType = transformerMediaType(accept.substring(startIndex, endIndex));\n" +
+            "%1$s" +
+            "        if mediaType == \"application/json\" {\n" +
+            "            return \"\";\n" +
+            "        }\n" +
+            "        startIndex = endIndex + 1;\n" +
+            "    }\n" +
+            "    return \"\";\n" +
+            "}";
+    private static final String ACCEPTED_MEDIA_TYPE_STATEMENTS = "        if %1$s {\n" +
+            "            return \"%2$s\";\n" +
+            "        }\n";
+    private static final String RESPOND_FUNCTION =
+            "isolated function transformerRespond(http:Request request, anydata result) returns http:Response {\n" +
+            "    http:Response response = new;\n" +
+            "    response.statusCode = 201;\n" +
+            "    string|http:HeaderNotFoundError accept = request.getHeader(\"Accept\");\n" +
+            "    string mediaType = transformerAcceptedMediaType(accept is string ? accept : \"\");\n" +
+            "%1$s" +
+            "        response.setJsonPayload(result.toJson());\n" +
+            "    }\n" +
+            "    return response;\n" +
+            "}";
+    private static final String RESPOND_STATEMENTS = "if mediaType == \"%1$s\" {\n" +
+            "        byte[] body = [];\n" +
+            "        %2$s(body, result);\n" +
+            "        response.setBinaryPayload(body, mediaType);\n" +
+            "    } else ";
+    private final List<TransformerDescriptor> transformerFunctions;
+    private final PluginMetrics pluginMetrics;
 
-    TransformerServiceGenerator(List<FunctionDefinitionNode> transformerFunctions) {
+    TransformerServiceGenerator(List<TransformerDescriptor> transformerFunctions, PluginMetrics pluginMetrics) {
         this.transformerFunctions = transformerFunctions;
+        this.pluginMetrics = pluginMetrics;
     }
 
     @Override
     public void generate(SourceGeneratorContext sourceGeneratorContext) {
-        // TODO: Change the Listener Port to be configurable in Ballerina.toml
-        String balServiceCode = generateCode(transformerFunctions);
-        TextDocument textDocument = TextDocuments.from(balServiceCode);
-        sourceGeneratorContext.addSourceFile(textDocument, "service");
+        TransformerConfig config = TransformerConfig.from(sourceGeneratorContext.currentPackage());
+        ServiceGenerationCache generationCache =
+                ServiceGenerationCache.load(sourceGeneratorContext.currentPackage().project());
+        boolean isIsolatedService = transformerFunctions.stream().allMatch(TransformerDescriptor::isIsolated);
+        long fingerprintStartNanos = System.nanoTime();
+        List<String> fingerprints = generateForEach(transformerFunctions, transformer ->
+                generateFingerprint(transformer, config, isIsolatedService));
+        Map<String, String> transformerFingerprints = new LinkedHashMap<>();
+        for (int index = 0; index < transformerFunctions.size(); index++) {
+            transformerFingerprints.put(transformerFunctions.get(index).getName(), fingerprints.get(index));
+        }
+        String documentFingerprint = ServiceGenerationCache.fingerprint(config.toCanonicalString() + "\n" +
+                String.join("\n", transformerFingerprints.values()));
+        pluginMetrics.addTime(PluginMetrics.Phase.FINGERPRINTING, fingerprintStartNanos);
+        pluginMetrics.add(PluginMetrics.Counter.TRANSFORMERS, transformerFunctions.size());
+
+        // The whole documents are reused when no transformer signature nor option has changed since the last build
+        Map<String, String> serviceDocuments = generationCache.getDocuments(documentFingerprint);
+        if (serviceDocuments == null) {
+            long generationStartNanos = System.nanoTime();
+            serviceDocuments = generateDocuments(transformerFunctions, config, generationCache,
+                    transformerFingerprints);
+            pluginMetrics.addTime(PluginMetrics.Phase.SERVICE_GENERATION, generationStartNanos);
+            boolean isGenerated = true;
+            if (config.isFormattingEnabled()) {
+                long formattingStartNanos = System.nanoTime();
+                for (Map.Entry<String, String> serviceDocument : serviceDocuments.entrySet()) {
+                    try {
+                        serviceDocument.setValue(Formatter.format(serviceDocument.getValue()));
+                    } catch (FormatterException e) {
+                        // The generated code is already indented, so it is still added as it is
+                        isGenerated = false;
+                    }
+                }
+                pluginMetrics.addTime(PluginMetrics.Phase.FORMATTING, formattingStartNanos);
+                if (!isGenerated) {
+                    reportDiagnostics(sourceGeneratorContext, DiagnosticMessage.WARNING_101);
+                }
+            }
+            if (isGenerated) {
+                generationCache.putDocuments(documentFingerprint, serviceDocuments);
+            }
+        } else {
+            pluginMetrics.add(PluginMetrics.Counter.REUSED_GENERATED_DOCUMENTS, serviceDocuments.size());
+        }
+        serviceDocuments.forEach((documentName, source) -> {
+            sourceGeneratorContext.addSourceFile(TextDocuments.from(source), documentName);
+            pluginMetrics.add(PluginMetrics.Counter.GENERATED_SOURCE_BYTES,
+                    source.getBytes(StandardCharsets.UTF_8).length);
+        });
+        pluginMetrics.add(PluginMetrics.Counter.GENERATED_DOCUMENTS, serviceDocuments.size());
+        generationCache.save();
+        if (config.isReportEnabled()) {
+            pluginMetrics.writeReport(sourceGeneratorContext.currentPackage());
+        }
+    }
+
+    /**
+     * This method returns the fingerprint of everything the resource functions and the payload record of the given
+     * transformer function are generated from, i.e. its signature and the options which apply to it.
+     *
+     * @param transformer       Transformer function to be fingerprinted
+     * @param config            Transformer options of the package
+     * @param isIsolatedService Whether the resource functions of the transformer are isolated
+     * @return {@link String} Fingerprint of the transformer function
+     */
+    private String generateFingerprint(TransformerDescriptor transformer, TransformerConfig config,
+                                       boolean isIsolatedService) {
+        String transformerName = transformer.getName();
+        return ServiceGenerationCache.fingerprint(transformer.toSignature() + '|' + isIsolatedService + '|' +
+                config.isStreamingEnabled() + '|' + config.isCacheEnabled(transformerName) + '|' +
+                config.isCoalescingEnabled(transformerName) + '|' + generateAdmissionArgs(transformerName, config) +
+                '|' + generateDeadlineTimeout(transformerName, config) + '|' +
+                generatePayloadLimitsArgs(transformerName, config) + '|' + config.getPayloadFormats());
+    }
+
+    // The diagnostic is located at the first transformer function, as the generated code is not a part of the package
+    private void reportDiagnostics(SourceGeneratorContext sourceGeneratorContext,
+                                   DiagnosticMessage diagnosticMessage, Object... args) {
+        if (transformerFunctions.isEmpty()) {
+            return;
+        }
+        DiagnosticInfo diagnosticInfo = new DiagnosticInfo(diagnosticMessage.getCode(),
+                diagnosticMessage.getMessageFormat(), diagnosticMessage.getSeverity());
+        Diagnostic diagnostic =
+                DiagnosticFactory.createDiagnostic(diagnosticInfo, transformerFunctions.get(0).getLocation(), args);
+        sourceGeneratorContext.reportDiagnostic(diagnostic);
+    }
+
+    /**
+     * This method returns the generated service documents for the given transformer functions.
+     *
+     * When the package has more transformers than the shard size, the resource functions of the service only
+     * delegate to module level functions, which are generated into shard documents along with the payload records.
+     * A single service is kept on the listener, as a listener cannot attach two services to the same base path, but
+     * the bulk of the generated code is split into documents of a bounded size.
+     *
+     * @param transformerFunctions    List of transformer functions for which the service to be generated
+     * @param config                  Transformer options of the package
+     * @param generationCache         Sources generated in the previous build
+     * @param transformerFingerprints Fingerprint per transformer function name
+     * @return {@link Map} Generated source per document name, starting with the service document
+     */
+    private Map<String, String> generateDocuments(List<TransformerDescriptor> transformerFunctions,
+                                                  TransformerConfig config, ServiceGenerationCache generationCache,
+                                                  Map<String, String> transformerFingerprints) {
+        int shardSize = (int) Math.min(config.getShardSize(), Integer.MAX_VALUE);
+        boolean isSharded = shardSize > 0 && transformerFunctions.size() > shardSize;
+        Map<String, String> serviceDocuments = new LinkedHashMap<>();
+        serviceDocuments.put(SERVICE_DOCUMENT, generateCode(transformerFunctions, config, generationCache,
+                transformerFingerprints, isSharded));
+        if (isSharded) {
+            boolean isIsolatedService = transformerFunctions.stream().allMatch(TransformerDescriptor::isIsolated);
+            for (int shardStart = 0; shardStart < transformerFunctions.size(); shardStart += shardSize) {
+                List<TransformerDescriptor> shardTransformers = transformerFunctions.subList(shardStart,
+                        Math.min(shardStart + shardSize, transformerFunctions.size()));
+                serviceDocuments.put(SERVICE_DOCUMENT + SHARD_DOCUMENT_SUFFIX + (shardStart / shardSize + 1),
+                        generateShard(shardTransformers, config, isIsolatedService, generationCache,
+                                transformerFingerprints));
+            }
+        }
+        return serviceDocuments;
+    }
+
+    /**
+     * This method returns the generated code of a shard document, i.e. the functions which implement the resource
+     * functions of the given transformers and the payload records of them.
+     *
+     * @param shardTransformers       Transformer functions of the shard
+     * @param config                  Transformer options of the package
+     * @param isIsolated              Whether the implementation functions should be isolated
+     * @param generationCache         Sources generated in the previous build
+     * @param transformerFingerprints Fingerprint per transformer function name
+     * @return {@link String} Generated code of the shard document
+     */
+    private String generateShard(List<TransformerDescriptor> shardTransformers, TransformerConfig config,
+                                 boolean isIsolated, ServiceGenerationCache generationCache,
+                                 Map<String, String> transformerFingerprints) {
+        // Each document imports only the modules it refers to, as unused imports are compilation errors
+        boolean hasPayloads = shardTransformers.stream().anyMatch(TransformerDescriptor::hasParameters);
+        boolean isGuarded = shardTransformers.stream()
+                .anyMatch(transformer -> !getGuardSuffixes(transformer.getName(), config).isEmpty());
+        List<String> imports = new ArrayList<>();
+        if (hasPayloads || isGuarded) {
+            imports.add(generateImport(HTTP_KEYWORD));
+        }
+        if (hasPayloads && config.isStreamingEnabled()) {
+            imports.add(generateImport(IO_KEYWORD));
+        }
+        if (shardTransformers.stream().anyMatch(transformer -> config.isCacheEnabled(transformer.getName())
+                || config.isCoalescingEnabled(transformer.getName()))) {
+            imports.add(generateImport(CRYPTO_KEYWORD));
+        }
+
+        long resourceStartNanos = System.nanoTime();
+        List<String> moduleMembers = new ArrayList<>(generateForEach(shardTransformers, transformer -> {
+            String fingerprint = transformerFingerprints.get(transformer.getName());
+            String implementationFunctions = generationCache.getFragment(IMPLEMENTATIONS_FRAGMENT, fingerprint);
+            if (implementationFunctions == null) {
+                implementationFunctions = generateTransformerResourceFunctions(transformer, config).stream()
+                        .map(resourceFunction -> generateImplementationFunction(resourceFunction, isIsolated))
+                        .collect(Collectors.joining("\n\n"));
+                generationCache.putFragment(IMPLEMENTATIONS_FRAGMENT, fingerprint, implementationFunctions);
+            }
+            return implementationFunctions;
+        }));
+        moduleMembers.addAll(generateGuardedFunctions(shardTransformers, config, isIsolated));
+        pluginMetrics.addTime(PluginMetrics.Phase.RESOURCE_GENERATION, resourceStartNanos);
+        moduleMembers.addAll(generatePayloadRecords(shardTransformers, generationCache, transformerFingerprints));
+        return generateDocument(imports, moduleMembers);
     }
 
     /**
      * This method returns generated code for the given transformer functions.
      *
+     * The resource functions and the payload record of a transformer are reused from the previous build when the
+     * fingerprint of the transformer has not changed.
+     *
+     * @param transformerFunctions    List of transformer functions for which the service to be generated
+     * @param config                  Transformer options of the package
+     * @param generationCache         Sources generated in the previous build
+     * @param transformerFingerprints Fingerprint per transformer function name
+     * @param isSharded               Whether the resource implementations and the payload records are generated
+     *                                into the shard documents
      * @return {@link String} Generated code for the given transformer functions
      */
-    private String generateCode(List<FunctionDefinitionNode> transformerFunctions) {
-        try {
-            Token importKeyword = AbstractNodeFactory.createToken(SyntaxKind.IMPORT_KEYWORD);
-            Token orgNameToken = AbstractNodeFactory.createIdentifierToken("ballerina");
-            Token slashToken = AbstractNodeFactory.createToken(SyntaxKind.SLASH_TOKEN);
-            ImportOrgNameNode orgNameNode = NodeFactory.createImportOrgNameNode(orgNameToken, slashToken);
-            IdentifierToken httpKeyword = AbstractNodeFactory.createIdentifierToken(HTTP_KEYWORD);
-            SeparatedNodeList<IdentifierToken> moduleName =
-                    AbstractNodeFactory.createSeparatedNodeList(List.of(httpKeyword));
-            Token semicolonToken = AbstractNodeFactory.createToken(SyntaxKind.SEMICOLON_TOKEN);
-            ImportDeclarationNode httpImport =
-                    NodeFactory.createImportDeclarationNode(importKeyword, orgNameNode, moduleName, null,
-                            semicolonToken);
-            NodeList<ImportDeclarationNode> imports = AbstractNodeFactory.createNodeList(List.of(httpImport));
-            List<TypeDefinitionNode> typeDefNodes = new ArrayList<>();
-            transformerFunctions.forEach(transformerFunc -> {
-                if (transformerFunc.functionSignature().parameters().size() > 0) {
-                    typeDefNodes.add(generatePayloadRecord(transformerFunc));
-                }
-            });
-            List<ModuleMemberDeclarationNode> moduleMembers = new ArrayList<>();
-            moduleMembers.add(generateConfigurable());
-            moduleMembers.add(generateService(transformerFunctions));
-            moduleMembers.addAll(typeDefNodes);
-            NodeList<ModuleMemberDeclarationNode> moduleMemberNodes = AbstractNodeFactory.createNodeList(moduleMembers);
-            Token eofToken = AbstractNodeFactory.createIdentifierToken("");
-            ModulePartNode modulePartNode = NodeFactory.createModulePartNode(imports, moduleMemberNodes, eofToken);
-            return Formatter.format(modulePartNode.syntaxTree()).toSourceCode();
-        } catch (FormatterException e) {
-            return null;
-        }
-    }
-
-    /**
-     * This method returns ModuleVariableDeclarationNode which defines the configurable port number.
-     *
-     * @return {@link ModuleVariableDeclarationNode}
-     * Generated ModuleVariableDeclarationNode for configuring port number
-     */
-    private ModuleVariableDeclarationNode generateConfigurable() {
-        Token configToken = NodeFactory.createToken(SyntaxKind.CONFIGURABLE_KEYWORD);
-        List<Token> qualifiers = new ArrayList<>();
-        qualifiers.add(configToken);
-
-        NodeList<Token> qualifierNodes = AbstractNodeFactory.createNodeList(qualifiers);
-        Token typeName = AbstractNodeFactory.createToken(SyntaxKind.INT_KEYWORD);
-        IdentifierToken fieldName = AbstractNodeFactory.createIdentifierToken(PORT_KEYWORD);
-        SimpleNameReferenceNode variableName = NodeFactory.createSimpleNameReferenceNode(fieldName);
-        TypeDescriptorNode typeDescNode = NodeFactory.createBuiltinSimpleNameReferenceNode(typeName.kind(), typeName);
-        BindingPatternNode bindingPatternNode = NodeFactory.createFieldBindingPatternVarnameNode(variableName);
-        TypedBindingPatternNode typedBindingPatternNode =
-                NodeFactory.createTypedBindingPatternNode(typeDescNode, bindingPatternNode);
-        Token equalsToken = AbstractNodeFactory.createToken(SyntaxKind.EQUAL_TOKEN);
-        MinutiaeList minList = AbstractNodeFactory.createEmptyMinutiaeList();
-        LiteralValueToken valToken =
-                NodeFactory.createLiteralValueToken(SyntaxKind.DECIMAL_INTEGER_LITERAL_TOKEN, "8080",
-                        minList, minList);
-        BasicLiteralNode basicLiteralNode = NodeFactory.createBasicLiteralNode(SyntaxKind.NUMERIC_LITERAL, valToken);
-        Token semicolonToken = AbstractNodeFactory.createToken(SyntaxKind.SEMICOLON_TOKEN);
-        return NodeFactory.createModuleVariableDeclarationNode(null, null, qualifierNodes,
-                typedBindingPatternNode, equalsToken, basicLiteralNode, semicolonToken);
-    }
-
-    /**
-     * This method returns ServiceDeclarationNode for the transformer function nodes.
-     *
-     * @param transformerFunctions List of transformer functions for which resource functions to be generated
-     * @return {@link ServiceDeclarationNode} Generated ServiceDeclarationNode
-     */
-    private ServiceDeclarationNode generateService(List<FunctionDefinitionNode> transformerFunctions) {
-        NodeList<Token> qualifierNodes = AbstractNodeFactory.createEmptyNodeList();
-        Token serviceKeyword = AbstractNodeFactory.createToken(SyntaxKind.SERVICE_KEYWORD);
-
-        Token resourcePath = NodeFactory.createToken(SyntaxKind.SLASH_TOKEN);
-        NodeList<Node> absoluteResourcePathNodes = AbstractNodeFactory.createNodeList(resourcePath);
-
-        Token onKeyword = AbstractNodeFactory.createToken(SyntaxKind.ON_KEYWORD);
-        Token newKeyword = AbstractNodeFactory.createToken(SyntaxKind.NEW_KEYWORD);
-
-        IdentifierToken modulePrefix = AbstractNodeFactory.createIdentifierToken(HTTP_KEYWORD);
-        Token colonToken = AbstractNodeFactory.createToken(SyntaxKind.COLON_TOKEN);
-        IdentifierToken listenerIdentifier = AbstractNodeFactory.createIdentifierToken(LISTENER_KEYWORD);
-        TypeDescriptorNode httpListenerTypeDescNode =
-                NodeFactory.createQualifiedNameReferenceNode(modulePrefix, colonToken, listenerIdentifier);
-
-        Token opParenToken = AbstractNodeFactory.createToken(SyntaxKind.OPEN_PAREN_TOKEN);
-        Token positionalArgNameToken = AbstractNodeFactory.createIdentifierToken(PORT_KEYWORD);
-        SimpleNameReferenceNode positionalArgExprNode =
-                NodeFactory.createSimpleNameReferenceNode(positionalArgNameToken);
-        PositionalArgumentNode newHTTPListenerExprArgNode =
-                NodeFactory.createPositionalArgumentNode(positionalArgExprNode);
-        SeparatedNodeList<FunctionArgumentNode> newHTTPListenerExprArgNodes =
-                AbstractNodeFactory.createSeparatedNodeList(newHTTPListenerExprArgNode);
-        Token clParenToken = AbstractNodeFactory.createToken(SyntaxKind.CLOSE_PAREN_TOKEN);
-        ParenthesizedArgList newHTTPListenerExprArgs =
-                NodeFactory.createParenthesizedArgList(opParenToken, newHTTPListenerExprArgNodes, clParenToken);
-        ExplicitNewExpressionNode newHTTPListenerExprNode = NodeFactory
-                .createExplicitNewExpressionNode(newKeyword, httpListenerTypeDescNode, newHTTPListenerExprArgs);
-        SeparatedNodeList<ExpressionNode> expressionNodes =
-                AbstractNodeFactory.createSeparatedNodeList(newHTTPListenerExprNode);
-
-        Token opBraceToken = AbstractNodeFactory.createToken(SyntaxKind.OPEN_BRACE_TOKEN);
-        Token clBraceToken = AbstractNodeFactory.createToken(SyntaxKind.CLOSE_BRACE_TOKEN);
-        List<Node> funcMembers = new ArrayList<>();
-        for (FunctionDefinitionNode transformerFuncNode : transformerFunctions) {
-            List<Token> functionQualifiers = new ArrayList<>();
-            Token resourceKeyword = AbstractNodeFactory.createToken(SyntaxKind.RESOURCE_KEYWORD);
-            functionQualifiers.add(resourceKeyword);
-            NodeList<Token> functionQualifierNodes = AbstractNodeFactory.createNodeList(functionQualifiers);
-            Token functionKeyword = AbstractNodeFactory.createToken(SyntaxKind.FUNCTION_KEYWORD);
-            IdentifierToken functionName = AbstractNodeFactory.createIdentifierToken(POST_KEYWORD);
-            List<Node> relativeResourcePaths = new ArrayList<>();
-            IdentifierToken relativeResourcePathToken =
-                    AbstractNodeFactory.createIdentifierToken(transformerFuncNode.functionName().text());
-            relativeResourcePaths.add(relativeResourcePathToken);
-            NodeList<Node> relativeResourcePathNodes = AbstractNodeFactory.createNodeList(relativeResourcePaths);
-
-            Token atToken = AbstractNodeFactory.createToken(SyntaxKind.AT_TOKEN);
-            IdentifierToken annotationToken = AbstractNodeFactory.createIdentifierToken(PAYLOAD_KEYWORD);
-            QualifiedNameReferenceNode annotationReferenceNode =
-                    NodeFactory.createQualifiedNameReferenceNode(modulePrefix, colonToken, annotationToken);
-            AnnotationNode annotationNode = NodeFactory.createAnnotationNode(atToken, annotationReferenceNode, null);
-            NodeList<AnnotationNode> annotationNodes = AbstractNodeFactory.createNodeList(annotationNode);
-
-            SeparatedNodeList<ParameterNode> parameterNodes = AbstractNodeFactory.createSeparatedNodeList();
-            if (transformerFuncNode.functionSignature().parameters().size() > 0) {
-                IdentifierToken typeName = AbstractNodeFactory
-                        .createIdentifierToken(transformerFuncNode.functionName().text() + PAYLOAD_KEYWORD);
-                SimpleNameReferenceNode typeNameNode = NodeFactory.createSimpleNameReferenceNode(typeName);
-                IdentifierToken paramName = AbstractNodeFactory.createIdentifierToken(PAYLOAD_TOKEN);
-                RequiredParameterNode requiredParamNode =
-                        NodeFactory.createRequiredParameterNode(annotationNodes, typeNameNode, paramName);
-                parameterNodes = AbstractNodeFactory.createSeparatedNodeList(requiredParamNode);
+    private String generateCode(List<TransformerDescriptor> transformerFunctions, TransformerConfig config,
+                                ServiceGenerationCache generationCache, Map<String, String> transformerFingerprints,
+                                boolean isSharded) {
+        boolean isStreamingEnabled = config.isStreamingEnabled() && transformerFunctions.stream()
+                .anyMatch(transformerFunc -> transformerFunc.hasParameters());
+        List<String> imports = new ArrayList<>();
+        imports.add(generateImport(HTTP_KEYWORD));
+        if (isStreamingEnabled) {
+            imports.add(generateImport(IO_KEYWORD));
+        }
+        boolean isCacheEnabled = transformerFunctions.stream()
+                .anyMatch(transformerFunc -> config.isCacheEnabled(transformerFunc.getName()));
+        boolean isCoalescingEnabled = transformerFunctions.stream()
+                .anyMatch(transformerFunc -> config.isCoalescingEnabled(transformerFunc.getName()));
+        if ((isCacheEnabled || isCoalescingEnabled) && !isSharded) {
+            imports.add(generateImport(CRYPTO_KEYWORD));
+        }
+        if (isCacheEnabled) {
+            imports.add(generateImport(TIME_KEYWORD));
+        }
+        boolean isAdmissionControlled = transformerFunctions.stream()
+                .anyMatch(transformerFunc -> config.isAdmissionControlled(transformerFunc.getName()));
+        boolean hasDeadlines = transformerFunctions.stream()
+                .anyMatch(transformerFunc -> config.hasDeadline(transformerFunc.getName()));
+        if (isCoalescingEnabled || isAdmissionControlled || hasDeadlines) {
+            imports.add(generateImport(RUNTIME_KEYWORD));
+        }
+        boolean hasPayloads = transformerFunctions.stream().anyMatch(TransformerDescriptor::hasParameters);
+        List<String> typeDefs = isSharded ? List.of() :
+                generatePayloadRecords(transformerFunctions, generationCache, transformerFingerprints);
+        List<String> variableDecls = new ArrayList<>(generateListenerMembers(config));
+        if (hasPayloads) {
+            variableDecls.add(generateConfigurable(INT_TYPE, MAX_BATCH_SIZE_KEYWORD, DEFAULT_MAX_BATCH_SIZE));
+        }
+        if (config.getCompression() != null) {
+            variableDecls.add(generateConfigurable("http:Compression", COMPRESSION_TOKEN,
+                    generateLiteral(config.getCompression())));
+            if (config.getCompressionContentTypes() != null) {
+                variableDecls.add(generateConfigurable("string[]", COMPRESSION_CONTENT_TYPES_TOKEN,
+                        generateLiteral(config.getCompressionContentTypes())));
             }
+        }
+        List<String> moduleMembers = new ArrayList<>();
+        moduleMembers.add(String.join("\n", variableDecls));
+        moduleMembers.add(generateService(transformerFunctions, config, generationCache, transformerFingerprints,
+                isSharded));
+        moduleMembers.addAll(typeDefs);
+        if (hasPayloads) {
+            moduleMembers.add(BATCH_ERROR_RECORD);
+        }
+        if (isStreamingEnabled) {
+            moduleMembers.addAll(generateNdjsonStreamMembers(transformerFunctions));
+        }
+        if (config.isPipelineEnabled() && !transformerFunctions.isEmpty()) {
+            moduleMembers.addAll(generatePipelineMembers(transformerFunctions));
+        }
+        if (isCacheEnabled) {
+            moduleMembers.addAll(generateResultCacheMembers(transformerFunctions, config));
+        }
+        if (isCoalescingEnabled) {
+            moduleMembers.addAll(generateSingleFlightMembers(transformerFunctions, config));
+        }
+        if (isCacheEnabled || isCoalescingEnabled) {
+            moduleMembers.add(CANONICAL_JSON_FUNCTION);
+        }
+        if (isAdmissionControlled) {
+            moduleMembers.addAll(generateAdmissionMembers(transformerFunctions, config));
+        }
+        if (hasDeadlines) {
+            moduleMembers.addAll(generateDeadlineMembers(transformerFunctions, config));
+        }
+        boolean hasPayloadLimits = transformerFunctions.stream()
+                .anyMatch(transformerFunc -> config.isPayloadLimited(transformerFunc.getName()));
+        if (hasPayloadLimits) {
+            moduleMembers.addAll(generatePayloadLimitsMembers(transformerFunctions, config));
+        }
+        boolean hasPayloadFormats = hasPayloads && !config.getPayloadFormats().isEmpty();
+        if (hasPayloadFormats) {
+            moduleMembers.addAll(generatePayloadFormatMembers(config.getPayloadFormats()));
+        }
+        if ((isAdmissionControlled || hasDeadlines || hasPayloadLimits || hasPayloadFormats) && !isSharded) {
+            boolean isIsolatedService = transformerFunctions.stream().allMatch(TransformerDescriptor::isIsolated);
+            moduleMembers.addAll(generateGuardedFunctions(transformerFunctions, config, isIsolatedService));
+        }
+        return generateDocument(imports, moduleMembers);
+    }
 
-            Token returnsKeyword = AbstractNodeFactory.createToken(SyntaxKind.RETURNS_KEYWORD);
-            NodeList<AnnotationNode> returnTypeAnnotations = AbstractNodeFactory.createEmptyNodeList();
-
-            boolean isReturnTypeDescNodePresent =
-                    transformerFuncNode.functionSignature().returnTypeDesc().isPresent() &&
-                            !transformerFuncNode.functionSignature().returnTypeDesc().get().type()
-                                    .kind().equals(SyntaxKind.NIL_TYPE_DESC);
-            TypeDescriptorNode leftTypeNameNode = isReturnTypeDescNodePresent ?
-                    NodeFactory.createSimpleNameReferenceNode(AbstractNodeFactory
-                            .createToken(((BuiltinSimpleNameReferenceNode) transformerFuncNode.functionSignature()
-                                    .returnTypeDesc().get().type()).name().kind())) :
-                    NodeFactory.createNilTypeDescriptorNode(opParenToken, clParenToken);
-            Token pipeToken = AbstractNodeFactory.createToken(SyntaxKind.PIPE_TOKEN);
-            Token rightTypeName = AbstractNodeFactory.createToken(SyntaxKind.ERROR_KEYWORD);
-            SimpleNameReferenceNode rightTypeNameNode = NodeFactory.createSimpleNameReferenceNode(rightTypeName);
-            UnionTypeDescriptorNode unionTypeDescNode =
-                    NodeFactory.createUnionTypeDescriptorNode(leftTypeNameNode, pipeToken, rightTypeNameNode);
-            ReturnTypeDescriptorNode returnTypeDescNode =
-                    NodeFactory.createReturnTypeDescriptorNode(returnsKeyword, returnTypeAnnotations,
-                            unionTypeDescNode);
-            FunctionSignatureNode funcSignatureNode =
-                    NodeFactory.createFunctionSignatureNode(opParenToken, parameterNodes, clParenToken,
-                            returnTypeDescNode);
-
-            IdentifierToken funcNameToken =
-                    AbstractNodeFactory.createIdentifierToken(transformerFuncNode.functionName().text());
-            SimpleNameReferenceNode funcNameNode = NodeFactory.createSimpleNameReferenceNode(funcNameToken);
-
-            List<Node> funcArgNodes = new ArrayList<>();
-            transformerFuncNode.functionSignature().parameters().forEach(param -> {
-                IdentifierToken expressionName = NodeFactory.createIdentifierToken("payload");
-                SimpleNameReferenceNode methodExpressionNode =
-                        NodeFactory.createSimpleNameReferenceNode(expressionName);
-                Token dotToken = AbstractNodeFactory.createToken(SyntaxKind.DOT_TOKEN);
-                Token elvisToken = AbstractNodeFactory.createToken(SyntaxKind.ELVIS_TOKEN);
-                if (param.kind().equals(SyntaxKind.REQUIRED_PARAM)) {
-                    RequiredParameterNode requiredParamNode = (RequiredParameterNode) param;
-                    Token defaultFieldName = AbstractNodeFactory.createIdentifierToken("defaultName");
-                    IdentifierToken fieldName = AbstractNodeFactory
-                            .createIdentifierToken(requiredParamNode.paramName().orElse(defaultFieldName).text());
-                    SimpleNameReferenceNode fieldNameRefNode = NodeFactory.createSimpleNameReferenceNode(fieldName);
-                    FieldAccessExpressionNode fieldAccessExprNode =
-                            NodeFactory.createFieldAccessExpressionNode(methodExpressionNode, dotToken,
-                                    fieldNameRefNode);
-                    PositionalArgumentNode positionalArgNode =
-                            NodeFactory.createPositionalArgumentNode(fieldAccessExprNode);
-                    funcArgNodes.add(positionalArgNode);
-                } else if (param.kind().equals(SyntaxKind.DEFAULTABLE_PARAM)) {
-                    DefaultableParameterNode requiredParamNode = (DefaultableParameterNode) param;
-                    Token defaultFieldName = AbstractNodeFactory.createIdentifierToken("defaultName");
-                    IdentifierToken fieldName = AbstractNodeFactory
-                            .createIdentifierToken(requiredParamNode.paramName().orElse(defaultFieldName).text());
-                    SimpleNameReferenceNode fieldNameRefNode = NodeFactory.createSimpleNameReferenceNode(fieldName);
-                    FieldAccessExpressionNode fieldAccessExprNode =
-                            NodeFactory.createFieldAccessExpressionNode(methodExpressionNode,
-                                    dotToken, fieldNameRefNode);
-                    BinaryExpressionNode binExprNode =
-                            NodeFactory.createBinaryExpressionNode(SyntaxKind.BINARY_EXPRESSION,
-                                    fieldAccessExprNode, elvisToken, requiredParamNode.expression());
-                    PositionalArgumentNode positionalArgNode =
-                            NodeFactory.createPositionalArgumentNode(binExprNode);
-                    funcArgNodes.add(positionalArgNode);
-                } else if (param.kind().equals(SyntaxKind.REST_PARAM)) {
-                    Token ellipsisToken = AbstractNodeFactory.createToken(SyntaxKind.ELLIPSIS_TOKEN);
-                    RestParameterNode restParamNode = (RestParameterNode) param;
-                    Token defaultFieldName = AbstractNodeFactory.createIdentifierToken("defaultName");
-                    IdentifierToken fieldName = AbstractNodeFactory
-                            .createIdentifierToken(restParamNode.paramName().orElse(defaultFieldName).text());
-                    SimpleNameReferenceNode fieldNameRefNode = NodeFactory.createSimpleNameReferenceNode(fieldName);
-                    FieldAccessExpressionNode fieldAccessExprNode =
-                            NodeFactory.createFieldAccessExpressionNode(methodExpressionNode,
-                                    dotToken, fieldNameRefNode);
-                    Token openSBracketToken = AbstractNodeFactory.createToken(SyntaxKind.OPEN_BRACKET_TOKEN);
-                    Token closeSBracketToken = AbstractNodeFactory.createToken(SyntaxKind.CLOSE_BRACKET_TOKEN);
-                    SeparatedNodeList<Node> rhsNodeExpressions = NodeFactory.createSeparatedNodeList();
-                    ListConstructorExpressionNode rhsNode = NodeFactory.createListConstructorExpressionNode(
-                            openSBracketToken, rhsNodeExpressions, closeSBracketToken);
-                    BinaryExpressionNode binExprNode =
-                            NodeFactory.createBinaryExpressionNode(SyntaxKind.BINARY_EXPRESSION,
-                                    fieldAccessExprNode, elvisToken, rhsNode);
-                    RestArgumentNode restArgNode = NodeFactory.createRestArgumentNode(ellipsisToken, binExprNode);
-                    funcArgNodes.add(restArgNode);
+    // Module members are separated by blank lines, and the imports are grouped at the top of the document
+    private String generateDocument(List<String> imports, List<String> moduleMembers) {
+        String importDecls = imports.isEmpty() ? "" : String.join("\n", imports) + "\n\n";
+        return importDecls + String.join("\n\n", moduleMembers) + "\n";
+    }
+
+    /**
+     * This method returns the payload records of the given transformer functions which have parameters.
+     *
+     * @param transformerFunctions    List of transformer functions of which the payload records to be generated
+     * @param generationCache         Sources generated in the previous build
+     * @param transformerFingerprints Fingerprint per transformer function name
+     * @return {@link List} Payload record type definition sources, in the order of the transformer functions
+     */
+    private List<String> generatePayloadRecords(List<TransformerDescriptor> transformerFunctions,
+                                                ServiceGenerationCache generationCache,
+                                                Map<String, String> transformerFingerprints) {
+        long startNanos = System.nanoTime();
+        List<TransformerDescriptor> payloadTransformers = transformerFunctions.stream()
+                .filter(TransformerDescriptor::hasParameters)
+                .collect(Collectors.toList());
+        List<String> payloadRecords = generateForEach(payloadTransformers, transformer ->
+                getPayloadRecord(transformer, generationCache, transformerFingerprints.get(transformer.getName())));
+        pluginMetrics.addTime(PluginMetrics.Phase.PAYLOAD_GENERATION, startNanos);
+        pluginMetrics.add(PluginMetrics.Counter.PAYLOAD_RECORDS, payloadRecords.size());
+        return payloadRecords;
+    }
+
+    /**
+     * This method applies the given generator to each of the given transformer functions. Large packages are
+     * generated in parallel on the bounded generator pool, and the results are still returned in the order of the
+     * transformer functions, so that the generated code does not depend on the scheduling of the threads.
+     *
+     * @param transformerFunctions List of transformer functions
+     * @param generator            Generator of the source of a single transformer function
+     * @return {@link List} Generated sources, in the order of the transformer functions
+     */
+    private List<String> generateForEach(List<TransformerDescriptor> transformerFunctions,
+                                         Function<TransformerDescriptor, String> generator) {
+        if (transformerFunctions.size() < PARALLEL_GENERATION_THRESHOLD) {
+            return transformerFunctions.stream().map(generator).collect(Collectors.toList());
+        }
+        // A parallel stream started from a task of a fork-join pool runs on the threads of that pool
+        return GENERATOR_POOL.submit(() -> transformerFunctions.parallelStream().map(generator)
+                .collect(Collectors.toList())).join();
+    }
+
+    /**
+     * This method returns the payload record of the given transformer function, reused from the previous build when
+     * the fingerprint of the transformer has not changed.
+     *
+     * @param transformer     Transformer function of which the payload record to be generated
+     * @param generationCache Sources generated in the previous build
+     * @param fingerprint     Fingerprint of the transformer function
+     * @return {@link String} Payload record type definition source
+     */
+    private String getPayloadRecord(TransformerDescriptor transformer, ServiceGenerationCache generationCache,
+                                    String fingerprint) {
+        String payloadRecord = generationCache.getFragment(PAYLOAD_FRAGMENT, fingerprint);
+        if (payloadRecord == null) {
+            payloadRecord = generatePayloadRecord(transformer);
+            generationCache.putFragment(PAYLOAD_FRAGMENT, fingerprint, payloadRecord);
+        }
+        return payloadRecord;
+    }
+
+    /**
+     * This method returns the import declaration for the given module of the ballerina organization.
+     *
+     * @param module Name of the module to be imported, with the dot separated parts such as `lang.runtime`
+     * @return {@link String} Generated import declaration source
+     */
+    private String generateImport(String module) {
+        return "import ballerina/" + module + ";";
+    }
+
+    /**
+     * This method returns the module members which configure the listener of the service, i.e. a configurable
+     * variable per listener option declared in the `[transformer.listener]` table and the `http:ListenerConfiguration`
+     * built from them. The port is always generated as a configurable variable.
+     *
+     * @param config Transformer options of the package
+     * @return {@link List} Generated module variable declaration sources
+     */
+    private List<String> generateListenerMembers(TransformerConfig config) {
+        List<String> listenerMembers = new ArrayList<>();
+        Map<String, Object> listenerConfigFields = new LinkedHashMap<>();
+        for (ListenerOption option : ListenerOption.values()) {
+            Object value = config.getListenerOption(option);
+            if (option == ListenerOption.PORT) {
+                listenerMembers.add(generateConfigurable(option.getTypeName(), option.getKey(),
+                        value instanceof Long ? value.toString() : DEFAULT_PORT));
+            } else if (value != null) {
+                listenerMembers.add(generateConfigurable(option.getTypeName(), option.getKey(),
+                        generateLiteral(value)));
+                addMappingField(listenerConfigFields, option.getFieldPath(), option.getKey());
+            }
+        }
+        if (!listenerConfigFields.isEmpty()) {
+            listenerMembers.add("final http:ListenerConfiguration " + LISTENER_CONFIG_TOKEN + " = " +
+                    generateMappingConstructor(listenerConfigFields) + ";");
+        }
+        return listenerMembers;
+    }
+
+    // Adds the field at the given dot separated path, creating the intermediate mappings
+    @SuppressWarnings("unchecked")
+    private void addMappingField(Map<String, Object> mappingFields, String fieldPath, String valueExpr) {
+        int separatorIndex = fieldPath.indexOf('.');
+        if (separatorIndex < 0) {
+            mappingFields.put(fieldPath, valueExpr);
+            return;
+        }
+        Map<String, Object> nestedFields = (Map<String, Object>) mappingFields.computeIfAbsent(
+                fieldPath.substring(0, separatorIndex), fieldName -> new LinkedHashMap<String, Object>());
+        addMappingField(nestedFields, fieldPath.substring(separatorIndex + 1), valueExpr);
+    }
+
+    @SuppressWarnings("unchecked")
+    private String generateMappingConstructor(Map<String, Object> mappingFields) {
+        List<String> fields = new ArrayList<>();
+        mappingFields.forEach((fieldName, fieldValue) -> fields.add(fieldName + ": " + (fieldValue instanceof Map ?
+                generateMappingConstructor((Map<String, Object>) fieldValue) : fieldValue)));
+        return "{" + String.join(", ", fields) + "}";
+    }
+
+    // Returns the Ballerina literal of a value read from the Ballerina.toml
+    private String generateLiteral(Object value) {
+        if (value instanceof String) {
+            return "\"" + ((String) value).replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+        } else if (value instanceof Double) {
+            return BigDecimal.valueOf((Double) value).stripTrailingZeros().toPlainString();
+        } else if (value instanceof List) {
+            List<String> members = new ArrayList<>();
+            ((List<?>) value).forEach(member -> members.add(generateLiteral(member)));
+            return "[" + String.join(", ", members) + "]";
+        }
+        return value.toString();
+    }
+
+    /**
+     * This method returns the declaration of a configurable variable such as the port number.
+     *
+     * @param typeName     Type of the configurable variable
+     * @param name         Name of the configurable variable
+     * @param defaultValue Default value of the configurable variable
+     * @return {@link String} Generated configurable variable declaration source
+     */
+    private String generateConfigurable(String typeName, String name, String defaultValue) {
+        return "configurable " + typeName + " " + name + " = " + defaultValue + ";";
+    }
+
+    /**
+     * This method returns the service declaration for the transformer function nodes.
+     *
+     * @param transformerFunctions    List of transformer functions for which resource functions to be generated
+     * @param config                  Transformer options of the package
+     * @param generationCache         Sources generated in the previous build
+     * @param transformerFingerprints Fingerprint per transformer function name
+     * @param isSharded               Whether the resource functions delegate to the functions of the shard documents
+     * @return {@link String} Generated service declaration source
+     */
+    private String generateService(List<TransformerDescriptor> transformerFunctions, TransformerConfig config,
+                                   ServiceGenerationCache generationCache,
+                                   Map<String, String> transformerFingerprints, boolean isSharded) {
+        // Resources can only be dispatched concurrently when the service and all the resources are isolated
+        boolean isIsolatedService = transformerFunctions.stream().allMatch(TransformerDescriptor::isIsolated);
+        boolean hasListenerConfig = Arrays.stream(ListenerOption.values()).anyMatch(option ->
+                option.getFieldPath() != null && config.getListenerOption(option) != null);
+        String listenerArgs = hasListenerConfig ? PORT_KEYWORD + ", " + LISTENER_CONFIG_TOKEN : PORT_KEYWORD;
+
+        String fragmentName = isSharded ? DELEGATES_FRAGMENT : RESOURCES_FRAGMENT;
+        long resourceStartNanos = System.nanoTime();
+        List<String> funcMembers = new ArrayList<>(generateForEach(transformerFunctions, transformer -> {
+            String fingerprint = transformerFingerprints.get(transformer.getName());
+            String resourceFunctions = generationCache.getFragment(fragmentName, fingerprint);
+            if (resourceFunctions == null) {
+                resourceFunctions = generateTransformerResourceFunctions(transformer, config).stream()
+                        .map(resourceFunction -> isSharded ?
+                                generateDelegateResourceFunction(resourceFunction, isIsolatedService) :
+                                generateResourceFunctionSource(resourceFunction, isIsolatedService))
+                        .collect(Collectors.joining("\n\n"));
+                generationCache.putFragment(fragmentName, fingerprint, resourceFunctions);
+            }
+            return resourceFunctions;
+        }));
+        pluginMetrics.addTime(PluginMetrics.Phase.RESOURCE_GENERATION, resourceStartNanos);
+        if (config.isPipelineEnabled() && !transformerFunctions.isEmpty()) {
+            funcMembers.add(generatePipelineResourceFunction(isIsolatedService));
+        }
+        Map<String, List<String>> transformerMetrics = generateTransformerMetrics(transformerFunctions, config);
+        if (!transformerMetrics.isEmpty()) {
+            funcMembers.add(generateMetricsResourceFunction(transformerMetrics, isIsolatedService));
+        }
+
+        StringBuilder service = new StringBuilder(generateServiceMetadata(config));
+        if (isIsolatedService) {
+            service.append("isolated ");
+        }
+        service.append("service / on new ").append(HTTP_KEYWORD).append(":").append(LISTENER_KEYWORD)
+                .append("(").append(listenerArgs).append(") {\n");
+        service.append(funcMembers.stream().map(this::indent).collect(Collectors.joining("\n\n")));
+        return service.append("\n}").toString();
+    }
+
+    /**
+     * This method returns the resource functions of the given transformer function, i.e. the `post <transformer>`
+     * resource function, and the batch and stream resource functions when the transformer has parameters.
+     *
+     * When the transformer is guarded by a deadline or an admission, the `post` and the batch resource functions
+     * only apply the guards and call the guarded functions which hold their body. The stream resource functions are
+     * left out, as their responses are still being written once they return.
+     *
+     * @param transformer Transformer function for which the resource functions to be generated
+     * @param config      Transformer options of the package
+     * @return {@link List} Generated resource functions
+     */
+    private List<ResourceFunction> generateTransformerResourceFunctions(TransformerDescriptor transformer,
+                                                                        TransformerConfig config) {
+        String transformerName = transformer.getName();
+        List<ResourceFunction> resourceFunctions = generateUnguardedResourceFunctions(transformer, config);
+        resourceFunctions.replaceAll(resourceFunction -> {
+            if (!isGuardable(resourceFunction)) {
+                return resourceFunction;
+            }
+            ResourceFunction guardedFunction = resourceFunction;
+            for (String guardSuffix : getGuardSuffixes(transformerName, config)) {
+                if (isGuardApplicable(guardedFunction, guardSuffix)) {
+                    guardedFunction = generateGuardResourceFunction(guardedFunction, transformerName, guardSuffix,
+                            config);
                 }
-            });
+            }
+            return guardedFunction;
+        });
+        return resourceFunctions;
+    }
 
-            Node[] newNodes = new Node[funcArgNodes.size()];
-            if (funcArgNodes.size() > 0) {
-                newNodes = new Node[funcArgNodes.size() * 2 - 1];
+    private List<ResourceFunction> generateUnguardedResourceFunctions(TransformerDescriptor transformer,
+                                                                      TransformerConfig config) {
+        String transformerName = transformer.getName();
+        List<ResourceFunction> resourceFunctions = new ArrayList<>();
+        resourceFunctions.add(generateResourceFunction(transformer, config.isCacheEnabled(transformerName),
+                config.isCoalescingEnabled(transformerName)));
+        if (transformer.hasParameters()) {
+            resourceFunctions.add(generateBatchResourceFunction(transformer));
+            if (config.isStreamingEnabled()) {
+                resourceFunctions.add(generateStreamResourceFunction(transformer));
             }
+        }
+        if (isRawBindable(transformer)) {
+            resourceFunctions.add(generateRawResourceFunction(transformer));
+        }
+        return resourceFunctions;
+    }
 
-            for (int index = 0; index < funcArgNodes.size(); index++) {
-                Node node = funcArgNodes.get(index);
-                newNodes[2 * index] = node;
+    // The transformers of a single string, byte[] or json parameter can take the request body as the argument
+    private boolean isRawBindable(TransformerDescriptor transformer) {
+        List<TransformerDescriptor.Parameter> parameters = transformer.getParameters();
+        return parameters.size() == 1 && parameters.get(0).getKind() != TransformerDescriptor.ParameterKind.REST
+                && RAW_BINDING_STATEMENTS.containsKey(parameters.get(0).getType());
+    }
+
+    private boolean isRaw(ResourceFunction resourceFunction) {
+        return resourceFunction.resourcePath.startsWith(RAW_KEYWORD + "/");
+    }
+
+    private boolean isGuardable(ResourceFunction resourceFunction) {
+        return !resourceFunction.resourcePath.startsWith(STREAM_KEYWORD + "/");
+    }
 
-                if (index == funcArgNodes.size() - 1) {
-                    break;
+    // Payload limits and formats only apply to the resource functions which bind a payload
+    private boolean isGuardApplicable(ResourceFunction resourceFunction, String guardSuffix) {
+        return !guardSuffix.equals(BOUNDED_SUFFIX) || resourceFunction.isPayloadParameter;
+    }
+
+    /**
+     * This method returns the guards of the given transformer from the innermost to the outermost one, by the
+     * suffix of the guarded functions which they call. The deadline is inside the admission, so that the time spent
+     * waiting in the admission queue is not counted against the deadline, and the payload limits are outside of
+     * both, so that an oversized request is rejected before it takes a slot of the admission.
+     *
+     * @param transformerName Name of the transformer function
+     * @param config          Transformer options of the package
+     * @return {@link List} Suffixes of the guarded functions, or an empty list if the transformer is not guarded
+     */
+    private List<String> getGuardSuffixes(String transformerName, TransformerConfig config) {
+        List<String> guardSuffixes = new ArrayList<>();
+        if (config.hasDeadline(transformerName)) {
+            guardSuffixes.add(TIMED_SUFFIX);
+        }
+        if (config.isAdmissionControlled(transformerName)) {
+            guardSuffixes.add(ADMITTED_SUFFIX);
+        }
+        if (config.isPayloadLimited(transformerName) || !config.getPayloadFormats().isEmpty()) {
+            guardSuffixes.add(BOUNDED_SUFFIX);
+        }
+        return guardSuffixes;
+    }
+
+    /**
+     * This method returns the resource function which applies the given guard of the transformer before calling the
+     * guarded function, which holds the body of the given resource function.
+     *
+     * With an admission, the request takes a slot of the admission, which is released even when the guarded
+     * function panics, and which is released by the timed call when the transformer also has a deadline. With a
+     * deadline, the guarded function is raced against the deadline of the transformer. With payload limits or binary
+     * payload formats, the resource function takes the request instead of the payload and binds the payload itself.
+     *
+     * @param resourceFunction Resource function to be guarded
+     * @param transformerName  Name of the transformer function
+     * @param guardSuffix      Suffix of the guarded function, which identifies the guard
+     * @param config           Transformer options of the package
+     * @return {@link ResourceFunction} Generated resource function, which also returns the response of the guard
+     */
+    private ResourceFunction generateGuardResourceFunction(ResourceFunction resourceFunction, String transformerName,
+                                                           String guardSuffix, TransformerConfig config) {
+        String argument = resourceFunction.parameterName != null ? resourceFunction.parameterName : "";
+        String guardedCall = resourceFunction.implementationName + guardSuffix + "(" + argument + ")";
+        String resultType = getResultType(resourceFunction);
+        String funcBody;
+        String returnType;
+        if (guardSuffix.equals(BOUNDED_SUFFIX)) {
+            return generateRequestBindingResourceFunction(resourceFunction, transformerName, config, resultType,
+                    guardedCall);
+        } else if (guardSuffix.equals(ADMITTED_SUFFIX)) {
+            funcBody = String.format(config.hasDeadline(transformerName) ? TIMED_ADMISSION_STATEMENTS :
+                    ADMISSION_STATEMENTS, transformerName + ADMISSION_SUFFIX, resultType, guardedCall);
+            returnType = resultType + "|" + ADMISSION_REJECTION_TYPES;
+        } else {
+            // The guarded function is started on its own strand, which takes the arguments as immutable values
+            String timedCall = resourceFunction.implementationName + guardSuffix + TIMED_CALL_SUFFIX + "(" +
+                    (resourceFunction.parameterName != null ? argument + ".cloneReadOnly()" : "") + ")";
+            funcBody = String.format(DEADLINE_STATEMENTS, transformerName + DEADLINE_SUFFIX, resultType, timedCall);
+            returnType = resultType + "|" + DEADLINE_EXCEEDED_TYPE;
+        }
+        return new ResourceFunction(resourceFunction.accessor, resourceFunction.resourcePath,
+                resourceFunction.parameterType, resourceFunction.parameterName, resourceFunction.isPayloadParameter,
+                returnType, "{\n" + funcBody + "}", resourceFunction.implementationName);
+    }
+
+    /**
+     * This method returns the function through which the timed function of the given resource function is started,
+     * which wraps the result in a tuple. With an admission, the function also releases the slot of the admission
+     * once the transformer returns, so that a call which has exceeded its deadline still holds its slot while its
+     * strand is running.
+     *
+     * @param resourceFunction Resource function of which the body is held by the timed function
+     * @param transformerName  Name of the transformer function
+     * @param config           Transformer options of the package
+     * @return {@link ResourceFunction} Generated function
+     */
+    private ResourceFunction generateTimedCallFunction(ResourceFunction resourceFunction, String transformerName,
+                                                       TransformerConfig config) {
+        String timedName = resourceFunction.implementationName + TIMED_SUFFIX;
+        String argument = resourceFunction.parameterName != null ? resourceFunction.parameterName : "";
+        String resultType = getResultType(resourceFunction);
+        String timedCall = timedName + "(" + argument + ")";
+        String funcBody = config.isAdmissionControlled(transformerName) ? String.format(TIMED_CALL_BODY,
+                resultType, timedCall, transformerName + ADMISSION_SUFFIX) : "=> [" + timedCall + "];";
+        return new ResourceFunction(resourceFunction.accessor, resourceFunction.resourcePath,
+                resourceFunction.parameterType, resourceFunction.parameterName, resourceFunction.isPayloadParameter,
+                "[" + resultType + "]", funcBody, timedName + TIMED_CALL_SUFFIX);
+    }
+
+    // Returns the result type of the given resource function, including the errors
+    private String getResultType(ResourceFunction resourceFunction) {
+        return Arrays.asList(resourceFunction.returnType.split("\\|")).contains("error") ?
+                resourceFunction.returnType : resourceFunction.returnType + "|error";
+    }
+
+    /**
+     * This method returns the resource function which takes the request and binds the payload of the given resource
+     * function from the request body itself.
+     *
+     * With payload limits, the payload is bound only once the request body is found to be within the limits. With
+     * binary payload formats, the request body is decoded by its content type and the result of the guarded function
+     * is encoded in the format accepted by the request, except for the raw resources which bind the body as it is.
+     *
+     * @param resourceFunction Resource function of which the payload to be bound
+     * @param transformerName  Name of the transformer function
+     * @param config           Transformer options of the package
+     * @param resultType       Source of the result type of the guarded function, including errors
+     * @param guardedCall      Call of the guarded function with the payload
+     * @return {@link ResourceFunction} Generated resource function
+     */
+    private ResourceFunction generateRequestBindingResourceFunction(ResourceFunction resourceFunction,
+                                                                    String transformerName, TransformerConfig config,
+                                                                    String resultType, String guardedCall) {
+        boolean isPayloadLimited = config.isPayloadLimited(transformerName);
+        // The raw resources keep the raw body and result, without the payload formats
+        boolean isRaw = isRaw(resourceFunction);
+        boolean isNegotiated = !isRaw && !config.getPayloadFormats().isEmpty();
+        StringBuilder funcBody = new StringBuilder("{\n");
+        List<String> returnTypes = new ArrayList<>(List.of(resultType));
+        String payloadLimits = transformerName + PAYLOAD_LIMITS_SUFFIX;
+        if (isPayloadLimited) {
+            // Only the size of the raw string and byte[] bodies is limited
+            String jsonCondition = isNegotiated ? String.format(DECODED_BODY_CONDITION, REQUEST_TOKEN) :
+                    isRaw && !resourceFunction.parameterType.equals("json") ? RAW_BODY_CONDITION :
+                            JSON_BODY_CONDITION;
+            funcBody.append(String.format(LIMITED_BODY_STATEMENTS, payloadLimits, REQUEST_TOKEN, jsonCondition));
+            returnTypes.add(PAYLOAD_TOO_LARGE_TYPE);
+        } else {
+            funcBody.append(String.format(BODY_STATEMENT, REQUEST_TOKEN));
+        }
+        if (isRaw) {
+            funcBody.append(String.format(RAW_BINDING_STATEMENTS.get(resourceFunction.parameterType),
+                    resourceFunction.parameterName));
+        } else if (isNegotiated) {
+            String documentLimits = isPayloadLimited ? config.getMaxDepth(transformerName) + ", " +
+                    config.getMaxElements(transformerName) : "0, 0";
+            funcBody.append(String.format(DECODED_BINDING_STATEMENTS, resourceFunction.parameterType,
+                    resourceFunction.parameterName, REQUEST_TOKEN, documentLimits,
+                    isPayloadLimited ? String.format(DECODED_LIMITS_STATEMENTS, payloadLimits) : ""));
+        } else {
+            funcBody.append(String.format(JSON_BINDING_STATEMENTS, resourceFunction.parameterType,
+                    resourceFunction.parameterName));
+        }
+        // Any body is a valid byte[] payload
+        if (!resourceFunction.parameterType.equals(BYTES_TYPE)) {
+            funcBody.append(String.format(BAD_REQUEST_STATEMENTS, resourceFunction.parameterName));
+            returnTypes.add(BAD_REQUEST_TYPE);
+        }
+        if (isNegotiated) {
+            funcBody.append(String.format(NEGOTIATED_RETURN_STATEMENTS, resultType, guardedCall, REQUEST_TOKEN));
+            returnTypes.add(NEGOTIATED_RESPONSE_TYPE);
+        } else {
+            funcBody.append(INDENT).append("return ").append(guardedCall).append(";\n");
+        }
+        return new ResourceFunction(resourceFunction.accessor, resourceFunction.resourcePath, "http:Request",
+                REQUEST_TOKEN, false, String.join("|", returnTypes), funcBody.append("}").toString(),
+                resourceFunction.implementationName);
+    }
+
+    /**
+     * This method returns the guarded functions of the guarded transformers, i.e. the module level functions which
+     * hold the body of each guard of their `post` and batch resource functions.
+     *
+     * @param transformerFunctions List of transformer functions of which the guarded ones get the guarded functions
+     * @param config               Transformer options of the package
+     * @param isIsolated           Whether the guarded functions should be isolated
+     * @return {@link List} Generated function definition sources
+     */
+    private List<String> generateGuardedFunctions(List<TransformerDescriptor> transformerFunctions,
+                                                  TransformerConfig config, boolean isIsolated) {
+        List<String> guardedFunctions = new ArrayList<>();
+        for (TransformerDescriptor transformer : transformerFunctions) {
+            String transformerName = transformer.getName();
+            List<String> guardSuffixes = getGuardSuffixes(transformerName, config);
+            if (guardSuffixes.isEmpty()) {
+                continue;
+            }
+            for (ResourceFunction resourceFunction : generateUnguardedResourceFunctions(transformer, config)) {
+                if (!isGuardable(resourceFunction)) {
+                    continue;
+                }
+                ResourceFunction guardedFunction = resourceFunction;
+                for (String guardSuffix : guardSuffixes) {
+                    if (!isGuardApplicable(guardedFunction, guardSuffix)) {
+                        continue;
+                    }
+                    String guardedName = guardedFunction.implementationName + guardSuffix;
+                    guardedFunctions.add(generateImplementationFunction(new ResourceFunction(
+                            guardedFunction.accessor, guardedFunction.resourcePath, guardedFunction.parameterType,
+                            guardedFunction.parameterName, guardedFunction.isPayloadParameter,
+                            guardedFunction.returnType, guardedFunction.body, guardedName), isIsolated));
+                    if (guardSuffix.equals(TIMED_SUFFIX)) {
+                        guardedFunctions.add(generateImplementationFunction(generateTimedCallFunction(
+                                guardedFunction, transformerName, config), isIsolated));
+                    }
+                    guardedFunction = generateGuardResourceFunction(guardedFunction, transformerName, guardSuffix,
+                            config);
                 }
+            }
+        }
+        return guardedFunctions;
+    }
 
-                Token separator = NodeFactory.createToken(SyntaxKind.COMMA_TOKEN);
-                newNodes[(2 * index) + 1] = separator;
+    /**
+     * This method returns the module members which back the admission controlled resource functions, i.e. the
+     * admission statistics and rejection records, the admission class and an admission per controlled transformer.
+     *
+     * @param transformerFunctions List of transformer functions of which the admission controlled ones get an
+     *                             admission
+     * @param config               Transformer options of the package
+     * @return {@link List} Generated module member sources
+     */
+    private List<String> generateAdmissionMembers(List<TransformerDescriptor> transformerFunctions,
+                                                  TransformerConfig config) {
+        List<String> admissionMembers = new ArrayList<>();
+        admissionMembers.add(ADMISSION_STATS_RECORD);
+        admissionMembers.add(REJECTION_RECORD);
+        admissionMembers.add(ADMISSION_CLASS);
+        List<String> admissions = new ArrayList<>();
+        for (TransformerDescriptor transformer : transformerFunctions) {
+            String transformerName = transformer.getName();
+            if (config.isAdmissionControlled(transformerName)) {
+                admissions.add("final TransformerAdmission " + transformerName + ADMISSION_SUFFIX + " = new (" +
+                        generateAdmissionArgs(transformerName, config) + ");");
+            }
+        }
+        admissionMembers.add(String.join("\n", admissions));
+        return admissionMembers;
+    }
+
+    /**
+     * This method returns the module members which back the resource functions with deadlines, i.e. the deadline
+     * error type, the timeout and statistics records, the deadline class and a deadline per timed transformer.
+     *
+     * @param transformerFunctions List of transformer functions of which the timed ones get a deadline
+     * @param config               Transformer options of the package
+     * @return {@link List} Generated module member sources
+     */
+    private List<String> generateDeadlineMembers(List<TransformerDescriptor> transformerFunctions,
+                                                 TransformerConfig config) {
+        List<String> deadlineMembers = new ArrayList<>();
+        deadlineMembers.add(TIMEOUT_RECORD);
+        deadlineMembers.add(DEADLINE_STATS_RECORD);
+        deadlineMembers.add(DEADLINE_CLASS);
+        List<String> deadlines = new ArrayList<>();
+        for (TransformerDescriptor transformer : transformerFunctions) {
+            String transformerName = transformer.getName();
+            if (config.hasDeadline(transformerName)) {
+                deadlines.add("final TransformerDeadline " + transformerName + DEADLINE_SUFFIX + " = new (" +
+                        generateDeadlineTimeout(transformerName, config) + ");");
+            }
+        }
+        deadlineMembers.add(String.join("\n", deadlines));
+        return deadlineMembers;
+    }
+
+    // Returns the timeout of the given transformer as a decimal literal, or an empty string if it has no deadline
+    private String generateDeadlineTimeout(String transformerName, TransformerConfig config) {
+        if (!config.hasDeadline(transformerName)) {
+            return "";
+        }
+        return BigDecimal.valueOf(config.getTimeout(transformerName)).stripTrailingZeros().toPlainString();
+    }
+
+    /**
+     * This method returns the module members which back the resource functions with payload limits, i.e. the
+     * violation and statistics records, the payload limits class and the payload limits per limited transformer.
+     *
+     * @param transformerFunctions List of transformer functions of which the limited ones get payload limits
+     * @param config               Transformer options of the package
+     * @return {@link List} Generated module member sources
+     */
+    private List<String> generatePayloadLimitsMembers(List<TransformerDescriptor> transformerFunctions,
+                                                      TransformerConfig config) {
+        List<String> payloadLimitsMembers = new ArrayList<>();
+        payloadLimitsMembers.add(PAYLOAD_VIOLATION_RECORD);
+        payloadLimitsMembers.add(PAYLOAD_LIMITS_STATS_RECORD);
+        payloadLimitsMembers.add(JSON_SCAN_RECORD);
+        payloadLimitsMembers.add(PAYLOAD_LIMITS_CLASS);
+        List<String> payloadLimits = new ArrayList<>();
+        for (TransformerDescriptor transformer : transformerFunctions) {
+            String transformerName = transformer.getName();
+            if (config.isPayloadLimited(transformerName)) {
+                payloadLimits.add("final TransformerPayloadLimits " + transformerName + PAYLOAD_LIMITS_SUFFIX +
+                        " = new (" + generatePayloadLimitsArgs(transformerName, config) + ");");
             }
+        }
+        payloadLimitsMembers.add(String.join("\n", payloadLimits));
+        return payloadLimitsMembers;
+    }
+
+    /**
+     * This method returns the module members which read and write the payloads in the given binary formats, i.e. the
+     * codec of each format and the functions which select the codec of a request by its content type and of a
+     * response by the accept header of the request.
+     *
+     * The codecs are generated into the service, as there is no CBOR or MessagePack module in the ballerina
+     * organization. They read the payloads into JSON values, which are then bound to the payload records in the same
+     * way as the JSON payloads.
+     *
+     * @param payloadFormats Binary payload formats of the package
+     * @return {@link List} Generated module member sources
+     */
+    private List<String> generatePayloadFormatMembers(List<PayloadFormat> payloadFormats) {
+        List<String> payloadFormatMembers = new ArrayList<>();
+        payloadFormatMembers.add(PAYLOAD_LIMIT_EXCEEDED_ERROR);
+        payloadFormatMembers.add(PAYLOAD_CURSOR_RECORD);
+        payloadFormatMembers.add(PAYLOAD_CODEC_FUNCTIONS);
+        StringBuilder decodeStatements = new StringBuilder();
+        StringBuilder acceptStatements = new StringBuilder();
+        StringBuilder respondStatements = new StringBuilder(INDENT);
+        List<String> binaryConditions = new ArrayList<>();
+        for (PayloadFormat payloadFormat : payloadFormats) {
+            payloadFormatMembers.add(payloadFormat == PayloadFormat.CBOR ? CBOR_CODEC_FUNCTIONS :
+                    MSGPACK_CODEC_FUNCTIONS);
+            String mediaTypeCondition = payloadFormat.getAcceptedMediaTypes().stream()
+                    .map(mediaType -> "mediaType == \"" + mediaType + "\"")
+                    .collect(Collectors.joining(" || "));
+            binaryConditions.add(mediaTypeCondition);
+            decodeStatements.append(String.format(PAYLOAD_DECODE_STATEMENTS, mediaTypeCondition,
+                    payloadFormat.getReadFunction()));
+            acceptStatements.append(String.format(ACCEPTED_MEDIA_TYPE_STATEMENTS, mediaTypeCondition,
+                    payloadFormat.getMediaType()));
+            respondStatements.append(String.format(RESPOND_STATEMENTS, payloadFormat.getMediaType(),
+                    payloadFormat.getWriteFunction()));
+        }
+        payloadFormatMembers.add(String.format(PAYLOAD_DECODE_FUNCTION, decodeStatements));
+        payloadFormatMembers.add(String.format(BINARY_MEDIA_TYPE_FUNCTION, String.join(" || ", binaryConditions)));
+        payloadFormatMembers.add(String.format(ACCEPTED_MEDIA_TYPE_FUNCTION, acceptStatements));
+        payloadFormatMembers.add(String.format(RESPOND_FUNCTION, respondStatements.append("{\n")));
+        return payloadFormatMembers;
+    }
+
+    // Returns the arguments of the payload limits of the given transformer, or an empty string if it is not limited
+    private String generatePayloadLimitsArgs(String transformerName, TransformerConfig config) {
+        if (!config.isPayloadLimited(transformerName)) {
+            return "";
+        }
+        return config.getMaxBodySize(transformerName) + ", " + config.getMaxDepth(transformerName) + ", " +
+                config.getMaxElements(transformerName);
+    }
+
+    // Returns the arguments of the admission of the given transformer, or an empty string if it is not controlled
+    private String generateAdmissionArgs(String transformerName, TransformerConfig config) {
+        if (!config.isAdmissionControlled(transformerName)) {
+            return "";
+        }
+        return config.getMaxConcurrency(transformerName) + ", " + config.getMaxQueued(transformerName) + ", " +
+                config.getRejectionStatus(transformerName) + ", " + config.getRetryAfter(transformerName) + ", " +
+                BigDecimal.valueOf(config.getQueueTimeout(transformerName)).stripTrailingZeros().toPlainString();
+    }
+
+    private String generateResourceFunctionSource(ResourceFunction resourceFunction, boolean isIsolated) {
+        return generateResourceSignature(isIsolated, resourceFunction.accessor, resourceFunction.resourcePath,
+                resourceFunction.getParameters(), resourceFunction.returnType) + resourceFunction.body;
+    }
+
+    /**
+     * This method returns a resource function which only delegates the request to the implementation function of
+     * the given resource function.
+     *
+     * @param resourceFunction Resource function to be delegated
+     * @param isIsolated       Whether the resource function should be isolated
+     * @return {@link String} Generated resource function source
+     */
+    private String generateDelegateResourceFunction(ResourceFunction resourceFunction, boolean isIsolated) {
+        String argument = resourceFunction.parameterName != null ? resourceFunction.parameterName : "";
+        return generateResourceSignature(isIsolated, resourceFunction.accessor, resourceFunction.resourcePath,
+                resourceFunction.getParameters(), resourceFunction.returnType) + "{\n" + INDENT + "return " +
+                resourceFunction.implementationName + "(" + argument + ");\n}";
+    }
+
+    /**
+     * This method returns the module level function which implements the given resource function, with the body
+     * of the resource function.
+     *
+     * @param resourceFunction Resource function to be implemented
+     * @param isIsolated       Whether the function should be isolated
+     * @return {@link String} Generated function definition source
+     */
+    private String generateImplementationFunction(ResourceFunction resourceFunction, boolean isIsolated) {
+        String parameter = resourceFunction.parameterName != null ?
+                resourceFunction.parameterType + " " + resourceFunction.parameterName : "";
+        return (isIsolated ? "isolated " : "") + "function " + resourceFunction.implementationName + "(" +
+                parameter + ") returns " + resourceFunction.returnType + " " + resourceFunction.body;
+    }
+
+    /**
+     * This method returns the `@http:ServiceConfig` annotation of the service, which enables the compression of the
+     * responses as declared in the `[transformer.compression]` table. With the `AUTO` mode, the responses are only
+     * compressed for the requests which accept a compressed encoding.
+     *
+     * @param config Transformer options of the package
+     * @return {@link String} Generated annotation source, or an empty string if the service does not need to be
+     * configured
+     */
+    private String generateServiceMetadata(TransformerConfig config) {
+        if (config.getCompression() == null) {
+            return "";
+        }
+        List<String> compressionFields = new ArrayList<>();
+        compressionFields.add("enable: " + COMPRESSION_TOKEN);
+        if (config.getCompressionContentTypes() != null) {
+            compressionFields.add("contentTypes: " + COMPRESSION_CONTENT_TYPES_TOKEN);
+        }
+        return "@http:ServiceConfig {compression: {" + String.join(", ", compressionFields) + "}}\n";
+    }
+
+    /**
+     * This method returns the `post <transformer>` resource function for the given transformer function node.
+     *
+     * When caching is enabled for the transformer, the results are looked up from and stored in the result cache of
+     * the transformer, keyed by the hash of the transformer arguments. When coalescing is enabled, concurrent requests
+     * with the same key wait for a single call of the transformer and share its result.
+     *
+     * @param transformer Transformer function for which the resource function to be generated
+     * @param isCached    Whether the results of the transformer function should be cached
+     * @param isCoalesced Whether concurrent calls with the same arguments should be coalesced
+     * @return {@link ResourceFunction} Generated resource function
+     */
+    private ResourceFunction generateResourceFunction(TransformerDescriptor transformer, boolean isCached,
+                                                      boolean isCoalesced) {
+        String transformerName = transformer.getName();
+        String resultType = generateTransformerReturnType(transformer);
+        String transformerCall = generateTransformerCall(transformer, PAYLOAD_TOKEN);
+        String funcBody = isCached || isCoalesced ?
+                generateKeyedResourceBody(transformer, resultType, isCached, isCoalesced) :
+                "{\n" + INDENT + "return " + transformerCall + ";\n}";
+        return new ResourceFunction(POST_KEYWORD, transformerName,
+                transformer.hasParameters() ? transformerName + PAYLOAD_KEYWORD : null, PAYLOAD_TOKEN, true,
+                resultType + "|error", funcBody, transformerName + RESOURCE_SUFFIX);
+    }
+
+    /**
+     * This method returns the `post batch/<transformer>` resource function for the given transformer function node.
+     * The generated resource accepts an array of payloads and returns the results in the same order, reporting
+     * the failures per element.
+     *
+     * @param transformer Transformer function for which the batch resource function to be generated
+     * @return {@link ResourceFunction} Generated batch resource function
+     */
+    private ResourceFunction generateBatchResourceFunction(TransformerDescriptor transformer) {
+        String transformerName = transformer.getName();
+        String resultType = generateTransformerReturnType(transformer);
+        String batchResultType = "(" + resultType + "|" + BATCH_ERROR_TYPE + ")";
+        String transformerCall = generateTransformerCall(transformer, BATCH_ITEM_TOKEN);
+        return new ResourceFunction(POST_KEYWORD, BATCH_KEYWORD + "/" + transformerName,
+                transformerName + PAYLOAD_KEYWORD + "[]", PAYLOAD_TOKEN, true,
+                batchResultType + "[]|http:PayloadTooLarge", String.format(BATCH_RESOURCE_BODY,
+                MAX_BATCH_SIZE_KEYWORD, batchResultType, transformerName + PAYLOAD_KEYWORD, resultType,
+                transformerCall), transformerName + BATCH_RESOURCE_SUFFIX);
+    }
 
-            SeparatedNodeList<FunctionArgumentNode> argumentNodes = NodeFactory.createSeparatedNodeList(newNodes);
-
-            FunctionCallExpressionNode expressionNode = NodeFactory.createFunctionCallExpressionNode(funcNameNode,
-                    opParenToken, argumentNodes, clParenToken);
-            Token semicolonToken = NodeFactory.createToken(SyntaxKind.SEMICOLON_TOKEN);
-            Token returnKeyword = AbstractNodeFactory.createToken(SyntaxKind.RETURN_KEYWORD);
-            ReturnStatementNode returnStatementNode = NodeFactory.createReturnStatementNode(returnKeyword,
-                    expressionNode, semicolonToken);
-            NodeList<StatementNode> statements = AbstractNodeFactory.createNodeList(returnStatementNode);
-            FunctionBodyNode funcBodyNode = NodeFactory.createFunctionBodyBlockNode(opBraceToken, null,
-                    statements, clBraceToken);
-            FunctionDefinitionNode funcDefNode =
-                    NodeFactory.createFunctionDefinitionNode(null, null, functionQualifierNodes, functionKeyword,
-                            functionName, relativeResourcePathNodes, funcSignatureNode, funcBodyNode);
-            funcMembers.add(funcDefNode);
-        }
-        NodeList<Node> members = AbstractNodeFactory.createNodeList(funcMembers);
-
-        return NodeFactory.createServiceDeclarationNode(null, qualifierNodes, serviceKeyword,
-                null, absoluteResourcePathNodes, onKeyword, expressionNodes, opBraceToken, members,
-                clBraceToken);
-    }
-
-    /**
-     * This method returns Payload Record node for the given function definition node.
-     *
-     * @param funcDefNode Function definition node for which the Record to be generated
-     * @return {@link TypeDefinitionNode} Generated Payload Record TypeDefinitionNode
-     */
-    private TypeDefinitionNode generatePayloadRecord(FunctionDefinitionNode funcDefNode) {
-        Token recordKeyWord = AbstractNodeFactory.createToken(SyntaxKind.RECORD_KEYWORD);
-        Token bodyStartDelimiter = AbstractNodeFactory.createToken(SyntaxKind.OPEN_BRACE_TOKEN);
-        Token bodyEndDelimiter = AbstractNodeFactory.createToken(SyntaxKind.CLOSE_BRACE_TOKEN);
-        Token questionMarkToken = AbstractNodeFactory.createToken(SyntaxKind.QUESTION_MARK_TOKEN);
-        Token semicolonToken = AbstractNodeFactory.createToken(SyntaxKind.SEMICOLON_TOKEN);
-
-        List<Node> recordFields = new ArrayList<>();
-        funcDefNode.functionSignature().parameters().forEach(funcParam -> {
-            Token typeName = AbstractNodeFactory.createToken(SyntaxKind.ANYDATA_KEYWORD);
-            TypeDescriptorNode fieldTypeName =
-                    NodeFactory.createBuiltinSimpleNameReferenceNode(typeName.kind(), typeName);
-            Token defaultFieldName = AbstractNodeFactory.createIdentifierToken("param");
-            Token fieldName = defaultFieldName;
-            RecordFieldNode recordFieldNode = NodeFactory.createRecordFieldNode(null, null,
-                    fieldTypeName, fieldName, null, semicolonToken);
-            if (funcParam.kind().equals(SyntaxKind.REQUIRED_PARAM)) {
-                RequiredParameterNode requiredParamNode = (RequiredParameterNode) funcParam;
-                fieldTypeName = (TypeDescriptorNode) requiredParamNode.typeName();
-                fieldName = requiredParamNode.paramName().orElse(defaultFieldName);
-                recordFieldNode = NodeFactory.createRecordFieldNode(null, null,
-                        fieldTypeName, fieldName, null, semicolonToken);
-            } else if (funcParam.kind().equals(SyntaxKind.DEFAULTABLE_PARAM)) {
-                DefaultableParameterNode defaultableParamNode = (DefaultableParameterNode) funcParam;
-                fieldTypeName = (TypeDescriptorNode) defaultableParamNode.typeName();
-                fieldName = defaultableParamNode.paramName().orElse(defaultFieldName);
-
-                recordFieldNode = NodeFactory.createRecordFieldNode(null, null,
-                        fieldTypeName, fieldName, questionMarkToken, semicolonToken);
-            } else if (funcParam.kind().equals(SyntaxKind.REST_PARAM)) {
-                RestParameterNode restParamNode = (RestParameterNode) funcParam;
-                fieldTypeName = (TypeDescriptorNode) restParamNode.typeName();
-                NodeList<ArrayDimensionNode> arrayDimensions = NodeFactory.createEmptyNodeList();
-                Token openSBracketToken = AbstractNodeFactory.createToken(SyntaxKind.OPEN_BRACKET_TOKEN);
-                Token closeSBracketToken = AbstractNodeFactory.createToken(SyntaxKind.CLOSE_BRACKET_TOKEN);
-                ArrayDimensionNode arrayDimension = NodeFactory.createArrayDimensionNode(openSBracketToken, null,
-                        closeSBracketToken);
-                arrayDimensions = arrayDimensions.add(arrayDimension);
-
-                TypeDescriptorNode fieldTypeNameArray =
-                        NodeFactory.createArrayTypeDescriptorNode(fieldTypeName, arrayDimensions);
-                fieldName = restParamNode.paramName().orElse(defaultFieldName);
-                recordFieldNode = NodeFactory.createRecordFieldNode(null, null,
-                        fieldTypeNameArray, fieldName, questionMarkToken, semicolonToken);
+    /**
+     * This method returns the `post stream/<transformer>` resource function for the given transformer function node.
+     * The generated resource reads the `application/x-ndjson` request body record by record and writes the results
+     * back as they are produced, so the memory usage does not grow with the size of the body.
+     *
+     * @param transformer Transformer function for which the stream resource function to be generated
+     * @return {@link ResourceFunction} Generated stream resource function
+     */
+    private ResourceFunction generateStreamResourceFunction(TransformerDescriptor transformer) {
+        String transformerName = transformer.getName();
+        return new ResourceFunction(POST_KEYWORD, STREAM_KEYWORD + "/" + transformerName, "http:Request",
+                REQUEST_TOKEN, false, "http:Response|error",
+                String.format(STREAM_RESOURCE_BODY, transformerName + NDJSON_TRANSFORM_SUFFIX),
+                transformerName + STREAM_RESOURCE_SUFFIX);
+    }
+
+    /**
+     * This method returns the `post raw/<transformer>` resource function for the given transformer function node,
+     * which has a single string, byte[] or json parameter. The generated resource binds the request body directly to
+     * the parameter instead of a `<transformer>Payload` record, so a `text/plain` or `application/octet-stream` body
+     * is taken without a JSON wrapper, and the result is written with the content type of its own type.
+     *
+     * @param transformer Transformer function for which the raw resource function to be generated
+     * @return {@link ResourceFunction} Generated raw resource function
+     */
+    private ResourceFunction generateRawResourceFunction(TransformerDescriptor transformer) {
+        String transformerName = transformer.getName();
+        return new ResourceFunction(POST_KEYWORD, RAW_KEYWORD + "/" + transformerName,
+                transformer.getParameters().get(0).getType(), PAYLOAD_TOKEN, true,
+                generateTransformerReturnType(transformer) + "|error",
+                "{\n" + INDENT + "return " + transformerName + "(" + PAYLOAD_TOKEN + ");\n}",
+                transformerName + RAW_RESOURCE_SUFFIX);
+    }
+
+    /**
+     * This method returns the module members which back the NDJSON streaming resource functions, i.e. the stream
+     * class which transforms the request body line by line and a function per transformer which binds a single
+     * NDJSON record to the `<transformer>Payload` record before calling the transformer.
+     *
+     * @param transformerFunctions List of transformer functions for which the stream resources are generated
+     * @return {@link List} Generated module member sources
+     */
+    private List<String> generateNdjsonStreamMembers(List<TransformerDescriptor> transformerFunctions) {
+        String isolatedQualifier =
+                transformerFunctions.stream().allMatch(TransformerDescriptor::isIsolated) ? "isolated " : "";
+        List<String> streamMembers = new ArrayList<>();
+        streamMembers.add(String.format(NDJSON_STREAM_CLASS, isolatedQualifier));
+        for (TransformerDescriptor transformer : transformerFunctions) {
+            if (transformer.hasParameters()) {
+                String transformerName = transformer.getName();
+                streamMembers.add(String.format(NDJSON_TRANSFORM_FUNCTION, isolatedQualifier,
+                        transformerName + NDJSON_TRANSFORM_SUFFIX, transformerName + PAYLOAD_KEYWORD,
+                        generateTransformerCall(transformer, PAYLOAD_TOKEN)));
+            }
+        }
+        return streamMembers;
+    }
+
+    /**
+     * This method returns the `post pipeline` resource function which runs an ordered list of transformers
+     * in-process, feeding the output of each transformer to the next one.
+     *
+     * @param isIsolated Whether the resource function should be isolated
+     * @return {@link String} Generated pipeline resource function source
+     */
+    private String generatePipelineResourceFunction(boolean isIsolated) {
+        return generateResourceSignature(isIsolated, POST_KEYWORD, PIPELINE_KEYWORD,
+                generatePayloadParameter(PIPELINE_TYPE), "anydata|http:BadRequest|error") + PIPELINE_RESOURCE_BODY;
+    }
+
+    /**
+     * This method returns the module members which back the pipeline resource function, i.e. the pipeline request
+     * record, the transformers which may follow each transformer, the function which dispatches a pipeline step by
+     * the transformer name and a function per transformer which binds the step input to the
+     * `<transformer>Payload` record before calling the transformer.
+     *
+     * @param transformerFunctions List of transformer functions which can be used in pipelines
+     * @return {@link List} Generated module member sources
+     */
+    private List<String> generatePipelineMembers(List<TransformerDescriptor> transformerFunctions) {
+        String isolatedQualifier =
+                transformerFunctions.stream().allMatch(TransformerDescriptor::isIsolated) ? "isolated " : "";
+        List<String> pipelineMembers = new ArrayList<>();
+        pipelineMembers.add(PIPELINE_RECORD);
+
+        // Chains between transformers are resolved from the function signatures during the validation, so that the
+        // pipeline resource only has to look up whether a requested step may follow the previous one
+        List<String> successorEntries = new ArrayList<>();
+        StringBuilder dispatchCases = new StringBuilder();
+        for (TransformerDescriptor transformer : transformerFunctions) {
+            String transformerName = transformer.getName();
+            String successors = transformer.getSuccessors().stream()
+                    .map(successor -> "\"" + successor + "\"")
+                    .collect(Collectors.joining(", "));
+            successorEntries.add("\"" + transformerName + "\": [" + successors + "]");
+
+            String stepCall;
+            if (transformer.hasParameters()) {
+                pipelineMembers.add(String.format(PIPELINE_STEP_FUNCTION, isolatedQualifier,
+                        transformerName + PIPELINE_STEP_SUFFIX, transformer.getParameters().get(0).getName(),
+                        transformerName + PAYLOAD_KEYWORD,
+                        generateTransformerCall(transformer, PAYLOAD_TOKEN)));
+                stepCall = transformerName + PIPELINE_STEP_SUFFIX + "(input, isChained)";
+            } else {
+                stepCall = generateTransformerCall(transformer, PAYLOAD_TOKEN);
+            }
+            dispatchCases.append(String.format(PIPELINE_DISPATCH_CASE, transformerName, stepCall));
+        }
+        pipelineMembers.add("final readonly & map<string[]> pipelineSuccessors = {" +
+                String.join(", ", successorEntries) + "};");
+        pipelineMembers.add(String.format(PIPELINE_DISPATCH_FUNCTION, isolatedQualifier, dispatchCases));
+        return pipelineMembers;
+    }
+
+    /**
+     * This method returns the body of a resource function which keys the request by the hash of the transformer
+     * arguments, to look the result up from the result cache and/or to coalesce it with the concurrent requests.
+     *
+     * @param transformer Transformer function to be called
+     * @param resultType  Source of the result type of the transformer function
+     * @param isCached    Whether the results of the transformer function should be cached
+     * @param isCoalesced Whether concurrent calls with the same arguments should be coalesced
+     * @return {@link String} Generated function body source
+     */
+    private String generateKeyedResourceBody(TransformerDescriptor transformer, String resultType,
+                                             boolean isCached, boolean isCoalesced) {
+        String transformerName = transformer.getName();
+        String resultCache = transformerName + RESULT_CACHE_SUFFIX;
+        String transformerCall = generateTransformerCall(transformer, PAYLOAD_TOKEN);
+        StringBuilder funcBody = new StringBuilder("{\n");
+        funcBody.append(String.format(REQUEST_KEY_STATEMENT, generateCacheKeyArgs(transformer, PAYLOAD_TOKEN)));
+        if (isCached) {
+            funcBody.append(String.format(CACHE_LOOKUP_STATEMENTS, resultCache, resultType));
+        }
+        if (isCoalesced) {
+            funcBody.append(String.format(SINGLE_FLIGHT_STATEMENTS, transformerName + SINGLE_FLIGHT_SUFFIX,
+                    resultType, transformerCall));
+        } else {
+            funcBody.append(INDENT).append(resultType).append(" result = ").append(transformerCall).append(";\n");
+        }
+        if (isCached) {
+            funcBody.append(String.format(CACHE_STORE_STATEMENT, resultCache));
+        }
+        return funcBody.append(INDENT).append("return result;\n}").toString();
+    }
+
+    /**
+     * This method returns the module members which back the coalesced resource functions, i.e. the flight result
+     * and statistics records, the single-flight class and a single-flight group per coalesced transformer.
+     *
+     * @param transformerFunctions List of transformer functions of which the coalesced ones get a single-flight group
+     * @param config               Transformer options of the package
+     * @return {@link List} Generated module member sources
+     */
+    private List<String> generateSingleFlightMembers(List<TransformerDescriptor> transformerFunctions,
+                                                     TransformerConfig config) {
+        List<String> singleFlightMembers = new ArrayList<>();
+        singleFlightMembers.add(FLIGHT_RESULT_RECORD);
+        singleFlightMembers.add(FLIGHT_TIMEOUT_ERROR);
+        singleFlightMembers.add(SINGLE_FLIGHT_STATS_RECORD);
+        singleFlightMembers.add(SINGLE_FLIGHT_CLASS);
+        List<String> singleFlightGroups = new ArrayList<>();
+        for (TransformerDescriptor transformer : transformerFunctions) {
+            String transformerName = transformer.getName();
+            if (config.isCoalescingEnabled(transformerName)) {
+                singleFlightGroups.add("final TransformerSingleFlight " + transformerName + SINGLE_FLIGHT_SUFFIX +
+                        " = new (" + BigDecimal.valueOf(config.getCoalesceTimeout(transformerName))
+                        .stripTrailingZeros().toPlainString() + ");");
+            }
+        }
+        singleFlightMembers.add(String.join("\n", singleFlightGroups));
+        return singleFlightMembers;
+    }
+
+    /**
+     * This method returns the module members which back the cached resource functions, i.e. the cache entry and
+     * statistics records, the result cache class and a result cache per cached transformer.
+     *
+     * @param transformerFunctions List of transformer functions of which the cached ones get a result cache
+     * @param config               Transformer options of the package
+     * @return {@link List} Generated module member sources
+     */
+    private List<String> generateResultCacheMembers(List<TransformerDescriptor> transformerFunctions,
+                                                    TransformerConfig config) {
+        List<String> cacheMembers = new ArrayList<>();
+        cacheMembers.add(CACHE_ENTRY_RECORD);
+        cacheMembers.add(CACHE_STATS_RECORD);
+        cacheMembers.add(RESULT_CACHE_CLASS);
+        List<String> resultCaches = new ArrayList<>();
+        for (TransformerDescriptor transformer : transformerFunctions) {
+            String transformerName = transformer.getName();
+            if (config.isCacheEnabled(transformerName)) {
+                String ttl = BigDecimal.valueOf(config.getCacheTtl(transformerName)).stripTrailingZeros()
+                        .toPlainString();
+                resultCaches.add("final TransformerResultCache " + transformerName + RESULT_CACHE_SUFFIX +
+                        " = new (" + config.getCacheCapacity(transformerName) + ", " + ttl + ");");
+            }
+        }
+        cacheMembers.add(String.join("\n", resultCaches));
+        return cacheMembers;
+    }
+
+    /**
+     * This method returns the list constructor of the arguments of the given transformer function, which is hashed
+     * to get the result cache key. The defaults are already applied to the arguments, so that an omitted argument
+     * and its default value share the same cache entry.
+     *
+     * @param transformer Transformer function to be called
+     * @param payloadName Name of the variable which holds the payload record
+     * @return {@link String} Generated list constructor source
+     */
+    private String generateCacheKeyArgs(TransformerDescriptor transformer, String payloadName) {
+        return "[" + String.join(", ", generateTransformerArgs(transformer, payloadName)) + "]";
+    }
+
+    /**
+     * This method returns the metrics of each transformer function as the fields of the mapping constructor which
+     * reports them in the `get metrics` resource function. Transformers without any metrics are left out.
+     *
+     * @param transformerFunctions List of transformer functions of which the metrics to be reported
+     * @param config               Transformer options of the package
+     * @return {@link Map} Metric fields per transformer function name, in the order of the transformer functions
+     */
+    private Map<String, List<String>> generateTransformerMetrics(List<TransformerDescriptor> transformerFunctions,
+                                                                 TransformerConfig config) {
+        Map<String, List<String>> transformerMetrics = new LinkedHashMap<>();
+        for (TransformerDescriptor transformer : transformerFunctions) {
+            String transformerName = transformer.getName();
+            List<String> metricFields = new ArrayList<>();
+            if (config.isCacheEnabled(transformerName)) {
+                metricFields.add("cache: " + transformerName + RESULT_CACHE_SUFFIX + ".stats()");
+            }
+            if (config.isCoalescingEnabled(transformerName)) {
+                metricFields.add("singleFlight: " + transformerName + SINGLE_FLIGHT_SUFFIX + ".stats()");
+            }
+            if (config.isAdmissionControlled(transformerName)) {
+                metricFields.add("admission: " + transformerName + ADMISSION_SUFFIX + ".stats()");
+            }
+            if (config.hasDeadline(transformerName)) {
+                metricFields.add("deadline: " + transformerName + DEADLINE_SUFFIX + ".stats()");
+            }
+            if (config.isPayloadLimited(transformerName)) {
+                metricFields.add("payloadLimits: " + transformerName + PAYLOAD_LIMITS_SUFFIX + ".stats()");
+            }
+            if (!metricFields.isEmpty()) {
+                transformerMetrics.put(transformerName, metricFields);
+            }
+        }
+        return transformerMetrics;
+    }
+
+    /**
+     * This method returns the `get metrics` resource function which reports the runtime metrics of the transformers.
+     *
+     * @param transformerMetrics Metric fields per transformer function name
+     * @param isIsolated         Whether the resource function should be isolated
+     * @return {@link String} Generated metrics resource function source
+     */
+    private String generateMetricsResourceFunction(Map<String, List<String>> transformerMetrics, boolean isIsolated) {
+        List<String> metricEntries = new ArrayList<>();
+        transformerMetrics.forEach((transformerName, metricFields) ->
+                metricEntries.add("\"" + transformerName + "\": {" + String.join(", ", metricFields) + "}"));
+        return generateResourceSignature(isIsolated, GET_KEYWORD, METRICS_KEYWORD, "", "map<anydata>") +
+                "{\n" + INDENT + "return {" + String.join(", ", metricEntries) + "};\n}";
+    }
+
+    /**
+     * This method returns the signature of a resource function up to the opening brace of its body.
+     *
+     * @param isIsolated   Whether the resource function should be isolated
+     * @param accessor     Resource accessor such as `post`
+     * @param resourcePath Relative resource path of the resource function
+     * @param parameters   Source of the parameters of the resource function
+     * @param returnType   Source of the return type of the resource function
+     * @return {@link String} Generated resource function signature source
+     */
+    private String generateResourceSignature(boolean isIsolated, String accessor, String resourcePath,
+                                             String parameters, String returnType) {
+        return (isIsolated ? "isolated " : "") + "resource function " + accessor + " " + resourcePath + "(" +
+                parameters + ") returns " + returnType + " ";
+    }
+
+    // Indents every non-blank line of the given source by a level, to nest it in the service body
+    private String indent(String source) {
+        return Arrays.stream(source.split("\n", -1))
+                .map(line -> line.isBlank() ? line : INDENT + line)
+                .collect(Collectors.joining("\n"));
+    }
+
+    private static String generatePayloadParameter(String typeName) {
+        return "@" + HTTP_KEYWORD + ":" + PAYLOAD_KEYWORD + " " + typeName + " " + PAYLOAD_TOKEN;
+    }
+
+    private String generateTransformerReturnType(TransformerDescriptor transformer) {
+        return transformer.getReturnType() != null ? transformer.getReturnType() : "()";
+    }
+
+    /**
+     * This method returns the call to the transformer function with the arguments taken from the given payload.
+     *
+     * @param transformer Transformer function to be called
+     * @param payloadName Name of the variable which holds the payload record
+     * @return {@link String} Generated function call expression source
+     */
+    private String generateTransformerCall(TransformerDescriptor transformer, String payloadName) {
+        return transformer.getName() + "(" +
+                String.join(", ", generateTransformerArgs(transformer, payloadName)) + ")";
+    }
+
+    // Returns the arguments of the transformer function taken from the payload fields, with the defaults applied
+    private List<String> generateTransformerArgs(TransformerDescriptor transformer, String payloadName) {
+        List<String> funcArgs = new ArrayList<>();
+        transformer.getParameters().forEach(param -> {
+            String fieldAccess = payloadName + "." + param.getName();
+            if (param.getKind() == TransformerDescriptor.ParameterKind.REQUIRED) {
+                funcArgs.add(fieldAccess);
+            } else if (param.getKind() == TransformerDescriptor.ParameterKind.DEFAULTABLE) {
+                funcArgs.add(fieldAccess + " ?: " + param.getDefaultExpression());
+            } else {
+                funcArgs.add("..." + fieldAccess + " ?: []");
             }
-            recordFields.add(recordFieldNode);
         });
+        return funcArgs;
+    }
 
-        Token publicKeyword = AbstractNodeFactory.createToken(SyntaxKind.PUBLIC_KEYWORD);
-        Token typeKeyWord = AbstractNodeFactory.createToken(SyntaxKind.TYPE_KEYWORD);
-        IdentifierToken typeName =
-                AbstractNodeFactory.createIdentifierToken(funcDefNode.functionName().text() + PAYLOAD_KEYWORD);
-        NodeList<Node> recordFieldNodes = AbstractNodeFactory.createNodeList(recordFields);
-        RecordTypeDescriptorNode payloadRecordNode = NodeFactory.createRecordTypeDescriptorNode(recordKeyWord,
-                bodyStartDelimiter, recordFieldNodes, null, bodyEndDelimiter);
+    /**
+     * This method returns the payload record type definition for the given transformer function.
+     *
+     * @param transformer Transformer function for which the Record to be generated
+     * @return {@link String} Generated payload record type definition source
+     */
+    private String generatePayloadRecord(TransformerDescriptor transformer) {
+        StringBuilder payloadRecord = new StringBuilder("public type ")
+                .append(transformer.getName()).append(PAYLOAD_KEYWORD).append(" record {\n");
+        transformer.getParameters().forEach(param -> {
+            payloadRecord.append(INDENT).append(param.getType());
+            if (param.getKind() == TransformerDescriptor.ParameterKind.REQUIRED) {
+                payloadRecord.append(" ").append(param.getName()).append(";\n");
+            } else if (param.getKind() == TransformerDescriptor.ParameterKind.DEFAULTABLE) {
+                payloadRecord.append(" ").append(param.getName()).append("?;\n");
+            } else {
+                payloadRecord.append("[] ").append(param.getName()).append("?;\n");
+            }
+        });
+        return payloadRecord.append("};").toString();
+    }
+
+    /**
+     * Parts of a generated resource function, so that the resource function can be generated either with its body or
+     * as a delegate of a module level function which holds the body.
+     */
+    private static final class ResourceFunction {
 
-        return NodeFactory.createTypeDefinitionNode(null, publicKeyword, typeKeyWord, typeName,
-                payloadRecordNode, semicolonToken);
+        private final String accessor;
+        private final String resourcePath;
+        private final String parameterType;
+        private final String parameterName;
+        private final boolean isPayloadParameter;
+        private final String returnType;
+        private final String body;
+        private final String implementationName;
+
+        ResourceFunction(String accessor, String resourcePath, String parameterType, String parameterName,
+                         boolean isPayloadParameter, String returnType, String body, String implementationName) {
+            this.accessor = accessor;
+            this.resourcePath = resourcePath;
+            this.parameterType = parameterType;
+            this.parameterName = parameterType != null ? parameterName : null;
+            this.isPayloadParameter = isPayloadParameter;
+            this.returnType = returnType;
+            this.body = body;
+            this.implementationName = implementationName;
+        }
+
+        // Returns the source of the resource function parameters, where the payload is bound by the annotation
+        String getParameters() {
+            if (parameterType == null) {
+                return "";
+            }
+            return isPayloadParameter ? generatePayloadParameter(parameterType) : parameterType + " " + parameterName;
+        }
     }
 }
@@ -49,7 +49,50 @@ public enum DiagnosticMessage {
             DiagnosticSeverity.ERROR),
     ERROR_107("TRANSFORMER_ERROR_107",
                       "Transformer packages contains non-service generatable functions.",
-              DiagnosticSeverity.ERROR);
+              DiagnosticSeverity.ERROR),
+    ERROR_108("TRANSFORMER_ERROR_108",
+            "Caching is allowed only for transformer functions without non-deterministic calls.",
+            DiagnosticSeverity.ERROR),
+    ERROR_109("TRANSFORMER_ERROR_109",
+            "Transformer listener HTTP version should be one of 1.0, 1.1 or 2.0.",
+            DiagnosticSeverity.ERROR),
+    ERROR_110("TRANSFORMER_ERROR_110",
+            "Transformer listener certFile and keyFile should be declared together to enable TLS.",
+            DiagnosticSeverity.ERROR),
+    ERROR_111("TRANSFORMER_ERROR_111",
+            "Transformer response compression should be one of AUTO, ALWAYS or NEVER.",
+            DiagnosticSeverity.ERROR),
+    ERROR_112("TRANSFORMER_ERROR_112",
+            "Transformer shard size should be a positive integer.",
+            DiagnosticSeverity.ERROR),
+    ERROR_113("TRANSFORMER_ERROR_113",
+            "Transformer maxConcurrency should be a positive integer, queueTimeout should be a positive number of " +
+                    "seconds, and maxQueued and retryAfter should not be negative.",
+            DiagnosticSeverity.ERROR),
+    ERROR_114("TRANSFORMER_ERROR_114",
+            "Transformer rejection status should be either 429 or 503.",
+            DiagnosticSeverity.ERROR),
+    ERROR_115("TRANSFORMER_ERROR_115",
+            "Transformer timeout should be a positive number of seconds.",
+            DiagnosticSeverity.ERROR),
+    ERROR_116("TRANSFORMER_ERROR_116",
+            "Transformer payload limits maxBodySize, maxDepth and maxElements should not be negative.",
+            DiagnosticSeverity.ERROR),
+    ERROR_117("TRANSFORMER_ERROR_117",
+            "Transformer payload formats should be a list of cbor and msgpack.",
+            DiagnosticSeverity.ERROR),
+    ERROR_118("TRANSFORMER_ERROR_118",
+            "Transformer cacheCapacity and cacheTtl should not be negative.",
+            DiagnosticSeverity.ERROR),
+    ERROR_119("TRANSFORMER_ERROR_119",
+            "Transformer coalesceTimeout should be a positive number of seconds.",
+            DiagnosticSeverity.ERROR),
+    WARNING_100("TRANSFORMER_WARNING_100",
+            "Transformer functions should be isolated to be served concurrently.",
+            DiagnosticSeverity.WARNING),
+    WARNING_101("TRANSFORMER_WARNING_101",
+            "Generated transformer service could not be formatted.",
+            DiagnosticSeverity.WARNING);
 
     private final String code;
     private final String messageFormat;
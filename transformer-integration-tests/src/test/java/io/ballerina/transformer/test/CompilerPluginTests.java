@@ -19,6 +19,8 @@ package io.ballerina.transformer.test;
 
 import io.ballerina.projects.CodeGeneratorResult;
 import io.ballerina.projects.DiagnosticResult;
+import io.ballerina.projects.DocumentId;
+import io.ballerina.projects.Module;
 import io.ballerina.projects.Package;
 import io.ballerina.projects.ProjectEnvironmentBuilder;
 import io.ballerina.projects.directory.BuildProject;
@@ -29,8 +31,15 @@ import io.ballerina.transformer.plugin.diagnostic.DiagnosticMessage;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 /**
  * This class includes integration tests for Ballerina Transformer compiler plugin.
@@ -59,6 +68,29 @@ public class CompilerPluginTests {
         Assert.assertEquals(diagnostic.diagnosticInfo().code(), diagnosticMessage.getCode());
     }
 
+    private void assertWarning(DiagnosticResult diagnosticResult, int index, DiagnosticMessage diagnosticMessage) {
+        Diagnostic diagnostic = (Diagnostic) diagnosticResult.warnings().toArray()[index];
+        Assert.assertEquals(diagnostic.diagnosticInfo().messageFormat(), diagnosticMessage.getMessageFormat());
+        Assert.assertEquals(diagnostic.diagnosticInfo().code(), diagnosticMessage.getCode());
+    }
+
+    private String getGeneratedServiceCode(CodeGeneratorResult codeGenResult) {
+        Package updatedPackage = codeGenResult.updatedPackage().orElseThrow();
+        Module defaultModule = updatedPackage.getDefaultModule();
+        StringBuilder generatedCode = new StringBuilder();
+        for (DocumentId documentId : defaultModule.documentIds()) {
+            if (defaultModule.document(documentId).name().startsWith("service")) {
+                generatedCode.append(defaultModule.document(documentId).textDocument().toString());
+            }
+        }
+        return generatedCode.toString();
+    }
+
+    // Compiles the package with the generated service documents, which catches the type errors of the generated code
+    private DiagnosticResult compileGeneratedPackage(CodeGeneratorResult codeGenResult) {
+        return codeGenResult.updatedPackage().orElseThrow().getCompilation().diagnosticResult();
+    }
+
     @Test
     public void testForAnnotatedFunctions() {
         Package currentPackage = loadPackage("sample_package_0");
@@ -158,4 +190,587 @@ public class CompilerPluginTests {
         DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
         Assert.assertEquals(diagnosticResult.errorCount(), 0);
     }
+
+    @Test
+    public void testForIsolatedServiceGeneration() {
+        Package currentPackage = loadPackage("sample_package_7");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        Assert.assertEquals(diagnosticResult.warningCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("isolated service / on new http:Listener(port)"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function post helloWorld("));
+    }
+
+    @Test
+    public void testForNonIsolatedTransformerFunctions() {
+        Package currentPackage = loadPackage("sample_package_11");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        Assert.assertEquals(diagnosticResult.warningCount(), 1);
+        assertWarning(diagnosticResult, 0, DiagnosticMessage.WARNING_100);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertFalse(generatedCode.contains("isolated service"));
+        Assert.assertTrue(generatedCode.contains("resource function post helloWorld1("));
+    }
+
+    @Test
+    public void testForBatchResourceGeneration() {
+        Package currentPackage = loadPackage("sample_package_7");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("configurable int maxBatchSize = 1000;"));
+        Assert.assertTrue(generatedCode.contains("resource function post batch/helloWorld(" +
+                "@http:Payload helloWorldPayload[] payload) returns (string|TransformerBatchError)[]" +
+                "|http:PayloadTooLarge {"));
+        Assert.assertTrue(generatedCode.contains("string|error result = trap helloWorld3(item.firstName, " +
+                "item.lastName ?: \"Root\");"));
+        Assert.assertTrue(generatedCode.contains("public type TransformerBatchError record {|"));
+    }
+
+    @Test
+    public void testForMappingBatchResourceGeneration() {
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_31").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("resource function post batch/toDocument(" +
+                "@http:Payload toDocumentPayload[] payload) returns (json|TransformerBatchError)[]" +
+                "|http:PayloadTooLarge {"));
+        Assert.assertTrue(generatedCode.contains(
+                "TransformerBatchError batchError = {index: index, message: result.message()};"));
+        Assert.assertTrue(generatedCode.contains("results.push(batchError);"));
+        Assert.assertFalse(generatedCode.contains("results.push({index: index"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForStreamResourceGeneration() {
+        Package currentPackage = loadPackage("sample_package_12");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("import ballerina/io;"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function post stream/normalize(" +
+                "http:Request request) returns http:Response|error {"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function post stream/total(" +
+                "http:Request request) returns http:Response|error {"));
+        Assert.assertTrue(generatedCode.contains("class TransformerNdjsonStream {"));
+        Assert.assertTrue(generatedCode.contains("isolated function normalizeNdjsonTransform(json payloadJson)"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForStreamResourceNotGeneratedByDefault() {
+        Package currentPackage = loadPackage("sample_package_7");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertFalse(generatedCode.contains("import ballerina/io;"));
+        Assert.assertFalse(generatedCode.contains("post stream/"));
+    }
+
+    @Test
+    public void testForPipelineResourceGeneration() {
+        Package currentPackage = loadPackage("sample_package_13");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("isolated resource function post pipeline(" +
+                "@http:Payload TransformerPipeline payload) returns anydata|http:BadRequest|error {"));
+        Assert.assertTrue(generatedCode.contains("final readonly & map<string[]> pipelineSuccessors = {"));
+        Assert.assertTrue(generatedCode.contains("\"normalize\": [\"normalize\", \"enrich\"]"));
+        Assert.assertTrue(generatedCode.contains("\"project\": [\"normalize\", \"enrich\"]"));
+        Assert.assertTrue(generatedCode.contains("isolated function enrichPipelineStep(anydata input, " +
+                "boolean isChained) returns anydata|error {"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForTypedPipelineSuccessors() {
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_36").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains(
+                "\"normalize\": [\"normalize\", \"label\", \"tag\", \"render\", \"wrap\", \"count\"]"));
+        Assert.assertTrue(generatedCode.contains(
+                "\"label\": [\"normalize\", \"label\", \"tag\", \"render\", \"wrap\", \"count\"]"));
+        Assert.assertTrue(generatedCode.contains("\"render\": []"));
+        Assert.assertTrue(generatedCode.contains("\"wrap\": [\"wrap\"]"));
+        Assert.assertTrue(generatedCode.contains("\"count\": [\"wrap\"]"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForCachedResourceGeneration() {
+        Package currentPackage = loadPackage("sample_package_14");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("import ballerina/crypto;"));
+        Assert.assertTrue(generatedCode.contains("import ballerina/time;"));
+        Assert.assertTrue(generatedCode.contains("string requestKey = crypto:hashSha256(transformerCanonicalJson(" +
+                "[payload.code, payload.region ?: \"LK\"]).toBytes()).toBase16();"));
+        Assert.assertTrue(generatedCode.contains("TransformerCacheEntry? cachedEntry = normalizeResultCache" +
+                ".get(requestKey);"));
+        Assert.assertTrue(generatedCode.contains("isolated class TransformerResultCache {"));
+        Assert.assertTrue(generatedCode.contains("final TransformerResultCache normalizeResultCache = " +
+                "new (256, 30.5);"));
+        Assert.assertTrue(generatedCode.contains("final TransformerResultCache enrichResultCache = new (1024, 0);"));
+        Assert.assertFalse(generatedCode.contains("projectResultCache"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function get metrics() returns map<anydata> {"));
+        Assert.assertTrue(generatedCode.contains("\"normalize\": {cache: normalizeResultCache.stats()}"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForCachedNonDeterministicTransformerFunction() {
+        Package currentPackage = loadPackage("sample_package_15");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 1);
+        assertError(diagnosticResult, 0, DiagnosticMessage.ERROR_108);
+    }
+
+    @Test
+    public void testForCachedMutuallyRecursiveNonDeterministicTransformerFunctions() {
+        Package currentPackage = loadPackage("sample_package_32");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 2);
+        assertError(diagnosticResult, 0, DiagnosticMessage.ERROR_108);
+        assertError(diagnosticResult, 1, DiagnosticMessage.ERROR_108);
+    }
+
+    @Test
+    public void testForInvalidCacheOptions() {
+        Package currentPackage = loadPackage("sample_package_33");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 2);
+        assertError(diagnosticResult, 0, DiagnosticMessage.ERROR_119);
+        assertError(diagnosticResult, 1, DiagnosticMessage.ERROR_118);
+    }
+
+    @Test
+    public void testForCanonicalCacheKeyGeneration() {
+        Package currentPackage = loadPackage("sample_package_14");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("isolated function transformerCanonicalJson(anydata value) " +
+                "returns string {"));
+        Assert.assertTrue(generatedCode.contains("from string key in value.keys().sort()"));
+        Assert.assertFalse(generatedCode.contains(".toJsonString().toBytes()).toBase16()"));
+    }
+
+    @Test
+    public void testForMetricsResourceNotGeneratedByDefault() {
+        Package currentPackage = loadPackage("sample_package_7");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertFalse(generatedCode.contains("import ballerina/crypto;"));
+        Assert.assertFalse(generatedCode.contains("get metrics"));
+    }
+
+    @Test
+    public void testForCoalescedResourceGeneration() {
+        Package currentPackage = loadPackage("sample_package_16");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("import ballerina/lang.runtime;"));
+        Assert.assertFalse(generatedCode.contains("import ballerina/time;"));
+        Assert.assertTrue(generatedCode.contains("[int, boolean] [flightId, isLeader] = " +
+                "normalizeSingleFlight.join(requestKey);"));
+        Assert.assertTrue(generatedCode.contains("string|error flightResult = trap normalize(payload.code);"));
+        Assert.assertTrue(generatedCode.contains("isolated class TransformerSingleFlight {"));
+        Assert.assertTrue(generatedCode.contains("final TransformerSingleFlight normalizeSingleFlight = new (5);"));
+        Assert.assertTrue(generatedCode.contains(
+                "anydata|error flightValue = normalizeSingleFlight.await(requestKey, flightId);"));
+        Assert.assertTrue(generatedCode.contains("if flightValue !is TransformerFlightTimeout {"));
+        Assert.assertTrue(generatedCode.contains("backoff = decimal:min(backoff * 2, 0.05);"));
+        Assert.assertFalse(generatedCode.contains("runtime:sleep(0.001);"));
+        Assert.assertFalse(generatedCode.contains("enrichSingleFlight"));
+        Assert.assertFalse(generatedCode.contains("TransformerResultCache"));
+        Assert.assertTrue(generatedCode.contains("\"normalize\": {singleFlight: normalizeSingleFlight.stats()}"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForListenerConfigurationGeneration() {
+        Package currentPackage = loadPackage("sample_package_17");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("configurable int port = 9090;"));
+        Assert.assertTrue(generatedCode.contains("configurable string host = \"127.0.0.1\";"));
+        Assert.assertTrue(generatedCode.contains("configurable decimal idleTimeout = 30.5;"));
+        Assert.assertTrue(generatedCode.contains("configurable http:KeepAlive keepAlive = \"ALWAYS\";"));
+        Assert.assertTrue(generatedCode.contains("final http:ListenerConfiguration listenerConfig = {host: host, " +
+                "timeout: idleTimeout, http1Settings: {keepAlive: keepAlive}, requestLimits: {maxHeaderSize: " +
+                "maxHeaderSize, maxEntityBodySize: maxEntityBodySize}, socketConfig: {tcpNoDelay: tcpNoDelay}};"));
+        Assert.assertTrue(generatedCode.contains("service / on new http:Listener(port, listenerConfig)"));
+    }
+
+    @Test
+    public void testForDefaultListenerGeneration() {
+        Package currentPackage = loadPackage("sample_package_7");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("configurable int port = 8080;"));
+        Assert.assertFalse(generatedCode.contains("listenerConfig"));
+    }
+
+    @Test
+    public void testForHttp2ListenerGeneration() {
+        Package currentPackage = loadPackage("sample_package_18");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("configurable http:HttpVersion httpVersion = \"2.0\";"));
+        Assert.assertTrue(generatedCode.contains("final http:ListenerConfiguration listenerConfig = {" +
+                "httpVersion: httpVersion, secureSocket: {key: {certFile: certFile, keyFile: keyFile}}};"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForInvalidHttp2ListenerOptions() {
+        Package currentPackage = loadPackage("sample_package_19");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 2);
+        assertError(diagnosticResult, 0, DiagnosticMessage.ERROR_109);
+        assertError(diagnosticResult, 1, DiagnosticMessage.ERROR_110);
+    }
+
+    @Test
+    public void testForResponseCompressionGeneration() {
+        Package currentPackage = loadPackage("sample_package_20");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("configurable http:Compression responseCompression = \"AUTO\";"));
+        Assert.assertTrue(generatedCode.contains("configurable string[] compressionContentTypes = " +
+                "[\"application/json\", \"application/x-ndjson\"];"));
+        Assert.assertTrue(generatedCode.contains("@http:ServiceConfig {compression: {enable: responseCompression, " +
+                "contentTypes: compressionContentTypes}}"));
+    }
+
+    @Test
+    public void testForIndentedServiceGeneration() {
+        Package currentPackage = loadPackage("sample_package_13");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("\n    isolated resource function post normalize(" +
+                "@http:Payload normalizePayload payload) returns string|error {\n" +
+                "        return normalize(payload.code);\n    }\n"));
+        Assert.assertTrue(generatedCode.contains("public type enrichPayload record {\n" +
+                "    string code;\n    string region?;\n};"));
+    }
+
+    @Test
+    public void testForFormattedServiceGeneration() {
+        Package currentPackage = loadPackage("sample_package_21");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 0);
+        Assert.assertEquals(diagnosticResult.warningCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("isolated resource function post enrich(" +
+                "@http:Payload enrichPayload payload) returns string|error {"));
+        Assert.assertTrue(generatedCode.contains("return enrich(payload.code, payload.region ?: \"LK\");"));
+    }
+
+    @Test
+    public void testForIncrementalServiceGeneration() throws IOException {
+        Path cacheFile = RESOURCE_DIRECTORY.resolve("sample_package_7").resolve("target").resolve("transformer")
+                .resolve("service-cache.properties");
+        Files.deleteIfExists(cacheFile);
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_7").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(Files.exists(cacheFile));
+        String regeneratedCode = getGeneratedServiceCode(loadPackage("sample_package_7").runCodeGeneratorPlugins());
+        Assert.assertEquals(regeneratedCode, generatedCode);
+    }
+
+    @Test
+    public void testForIncrementalValidation() {
+        Package currentPackage = loadPackage("sample_package_13");
+        Assert.assertEquals(currentPackage.runCodeGeneratorPlugins().reportedDiagnostics().errorCount(), 0);
+        Module defaultModule = currentPackage.getDefaultModule();
+        DocumentId documentId = defaultModule.documentIds().iterator().next();
+        Package modifiedPackage = defaultModule.document(documentId).modify()
+                .withContent("import ballerina/transformer as _;\n\n" +
+                        "function normalize(string code) returns string => code.trim();\n")
+                .apply().module().packageInstance();
+        DiagnosticResult diagnosticResult = modifiedPackage.runCodeGeneratorPlugins().reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 1);
+        assertError(diagnosticResult, 0, DiagnosticMessage.ERROR_105);
+    }
+
+    @Test
+    public void testForDeterministicServiceGeneration() throws Exception {
+        Path cacheFile = RESOURCE_DIRECTORY.resolve("sample_package_22").resolve("target").resolve("transformer")
+                .resolve("service-cache.properties");
+        Files.deleteIfExists(cacheFile);
+        String generatedCode = getGeneratedServiceCode(loadPackage("sample_package_22").runCodeGeneratorPlugins());
+        Assert.assertTrue(generatedCode.indexOf("resource function post normalizeCode(") <
+                generatedCode.indexOf("resource function post toCelsius("));
+        Assert.assertTrue(generatedCode.indexOf("resource function post toCelsius(") <
+                generatedCode.indexOf("resource function post formatName("));
+        for (int build = 0; build < 3; build++) {
+            Files.deleteIfExists(cacheFile);
+            Assert.assertEquals(getGeneratedServiceCode(loadPackage("sample_package_22").runCodeGeneratorPlugins()),
+                    generatedCode);
+        }
+
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<String>> builds = new ArrayList<>();
+            for (int build = 0; build < 4; build++) {
+                builds.add(executorService.submit(() ->
+                        getGeneratedServiceCode(loadPackage("sample_package_22").runCodeGeneratorPlugins())));
+            }
+            for (Future<String> build : builds) {
+                Assert.assertEquals(build.get(), generatedCode);
+            }
+        } finally {
+            executorService.shutdown();
+        }
+    }
+
+    @Test
+    public void testForShardedServiceGeneration() {
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_23").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        Module defaultModule = codeGenResult.updatedPackage().orElseThrow().getDefaultModule();
+        String serviceCode = null;
+        StringBuilder shardCode = new StringBuilder();
+        int shardCount = 0;
+        for (DocumentId documentId : defaultModule.documentIds()) {
+            String documentName = defaultModule.document(documentId).name();
+            if (documentName.startsWith("service_shard_")) {
+                shardCount++;
+                shardCode.append(defaultModule.document(documentId).textDocument().toString());
+            } else if (documentName.startsWith("service")) {
+                serviceCode = defaultModule.document(documentId).textDocument().toString();
+            }
+        }
+        Assert.assertEquals(shardCount, 3);
+        Assert.assertNotNull(serviceCode);
+        Assert.assertTrue(serviceCode.contains("isolated service / on new http:Listener(port)"));
+        Assert.assertTrue(serviceCode.contains("return normalizeCodeResource(payload);"));
+        Assert.assertTrue(serviceCode.contains("return countryCodeResource();"));
+        Assert.assertFalse(serviceCode.contains("public type normalizeCodePayload record {"));
+        Assert.assertTrue(shardCode.toString().contains(
+                "isolated function normalizeCodeResource(normalizeCodePayload payload) returns string|error {"));
+        Assert.assertTrue(shardCode.toString().contains("public type normalizeCodePayload record {"));
+        Assert.assertTrue(shardCode.toString().contains("isolated function toCelsiusStreamResource("));
+    }
+
+    @Test
+    public void testForPluginReport() throws IOException {
+        Path reportFile = RESOURCE_DIRECTORY.resolve("sample_package_24").resolve("target").resolve("transformer")
+                .resolve("plugin-report.json");
+        Files.deleteIfExists(reportFile);
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_24").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        Assert.assertTrue(Files.exists(reportFile));
+        String report = Files.readString(reportFile);
+        Assert.assertTrue(report.contains("\"package\": \"azeemmuzammil/sample_package_24:0.1.0\""));
+        Assert.assertTrue(report.contains("\"serviceGeneration\": "));
+        Assert.assertTrue(report.contains("\"transformers\": 3"));
+        Assert.assertTrue(report.contains("\"analyzedDocuments\": "));
+        Assert.assertTrue(report.contains("\"generatedDocuments\": 1"));
+    }
+
+    @Test
+    public void testForNamedParameterTypes() {
+        Package currentPackage = loadPackage("sample_package_25");
+        CodeGeneratorResult codeGenResult = currentPackage.runCodeGeneratorPlugins();
+        DiagnosticResult diagnosticResult = codeGenResult.reportedDiagnostics();
+        Assert.assertEquals(diagnosticResult.errorCount(), 1);
+        assertError(diagnosticResult, 0, DiagnosticMessage.ERROR_107);
+    }
+
+    @Test
+    public void testForAdmissionControlledServiceGeneration() {
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_26").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains(
+                "final TransformerAdmission helloWorldAdmission = new (4, 16, 429, 2, 0.5);"));
+        Assert.assertTrue(generatedCode.contains(
+                "final TransformerAdmission helloWorld2Admission = new (8, 0, 503, 1, 5);"));
+        Assert.assertFalse(generatedCode.contains("helloWorld1Admission"));
+        Assert.assertTrue(generatedCode.contains("if self.active < self.maxConcurrency && self.queued == 0 {"));
+        Assert.assertTrue(generatedCode.contains(
+                "if ticket == self.servingTicket && self.active < self.maxConcurrency {"));
+        Assert.assertTrue(generatedCode.contains("if waited >= self.queueTimeout {"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function post helloWorld(@http:Payload " +
+                "helloWorldPayload payload) returns string|error|http:TooManyRequests|http:ServiceUnavailable {"));
+        Assert.assertTrue(generatedCode.contains("string|error result = trap helloWorldResourceAdmitted(payload);"));
+        Assert.assertTrue(generatedCode.contains(
+                "isolated function helloWorldBatchResourceAdmitted(helloWorldPayload[] payload) returns "));
+        Assert.assertTrue(generatedCode.contains("\"helloWorld\": {admission: helloWorldAdmission.stats()}"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForTimedServiceGeneration() {
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_27").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("final TransformerDeadline helloWorldDeadline = new (0.5);"));
+        Assert.assertTrue(generatedCode.contains("final TransformerDeadline helloWorld3Deadline = new (2);"));
+        Assert.assertTrue(generatedCode.contains(
+                "string|error|http:GatewayTimeout|http:TooManyRequests|http:ServiceUnavailable {"));
+        Assert.assertTrue(generatedCode.contains("isolated function helloWorldResourceAdmitted(helloWorldPayload " +
+                "payload) returns string|error|http:GatewayTimeout {"));
+        Assert.assertTrue(generatedCode.contains("int callId = helloWorldDeadline.begin();"));
+        Assert.assertTrue(generatedCode.contains(
+                "future<[string|error]> call = start helloWorldResourceTimedCall(payload.cloneReadOnly());"));
+        Assert.assertTrue(generatedCode.contains("future<()> deadline = start helloWorldDeadline.expire(callId);"));
+        Assert.assertTrue(generatedCode.contains("helloWorldDeadline.complete(callId);"));
+        Assert.assertTrue(generatedCode.contains("isolated function helloWorldResourceTimedCall(helloWorldPayload " +
+                "payload) returns [string|error] {"));
+        Assert.assertTrue(generatedCode.contains("string|error result = trap helloWorldResourceTimed(payload);\n" +
+                "    helloWorldAdmission.release();\n" +
+                "    return [result];"));
+        Assert.assertTrue(generatedCode.contains("isolated function helloWorld3ResourceTimedCall(helloWorld3Payload " +
+                "payload) returns [string|error] => [helloWorld3ResourceTimed(payload)];"));
+        Assert.assertFalse(generatedCode.contains("TransformerDeadlineExceeded"));
+        Assert.assertTrue(generatedCode.contains("isolated function helloWorld3ResourceTimed("));
+        Assert.assertFalse(generatedCode.contains("helloWorld3ResourceAdmitted"));
+        Assert.assertTrue(generatedCode.contains("\"helloWorld3\": {deadline: helloWorld3Deadline.stats()}"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForPayloadLimitedServiceGeneration() {
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_28").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains(
+                "final TransformerPayloadLimits helloWorld1PayloadLimits = new (0, 0, 1000);"));
+        Assert.assertTrue(generatedCode.contains(
+                "final TransformerPayloadLimits helloWorld2PayloadLimits = new (1024, 4, 0);"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function post helloWorld1(http:Request request) " +
+                "returns ()|error|http:PayloadTooLarge|http:BadRequest {"));
+        Assert.assertTrue(generatedCode.contains("byte[]|http:PayloadTooLarge|error body = " +
+                "helloWorld2PayloadLimits.read(request, true);"));
+        Assert.assertTrue(generatedCode.contains("boolean isScanned = isJson && (self.maxDepth > 0 || " +
+                "self.maxElements > 0);"));
+        Assert.assertTrue(generatedCode.contains("violation = self.scan(scanState, chunk.value);"));
+        Assert.assertTrue(generatedCode.contains("return helloWorld2ResourceBounded(payload);"));
+        Assert.assertTrue(generatedCode.contains("helloWorld2Payload|error payload = text is error ? text : " +
+                "text.fromJsonStringWithType();"));
+        Assert.assertFalse(generatedCode.contains("check string:fromBytes"));
+        Assert.assertTrue(generatedCode.contains("isolated function helloWorld2ResourceBounded(helloWorld2Payload " +
+                "payload) returns string|error|http:TooManyRequests|http:ServiceUnavailable {"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function post helloWorld(@http:Payload " +
+                "helloWorldPayload payload) returns string|error {"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForPayloadFormatServiceGeneration() {
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_29").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("isolated resource function post helloWorld(http:Request request) " +
+                "returns string|error|http:BadRequest|http:Response {"));
+        Assert.assertTrue(generatedCode.contains("byte[]|error body = request.getBinaryPayload();"));
+        Assert.assertTrue(generatedCode.contains(
+                "json|error document = transformerDecode(request.getContentType(), check body, 0, 0);"));
+        Assert.assertTrue(generatedCode.contains(
+                "helloWorldPayload|error payload = document is error ? document : document.fromJsonWithType();"));
+        Assert.assertTrue(generatedCode.contains("return transformerRespond(request, result);"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function post helloWorld2(http:Request request) " +
+                "returns string|error|http:PayloadTooLarge|http:BadRequest|http:Response {"));
+        Assert.assertTrue(generatedCode.contains(
+                "return transformerReadDocument(body, transformerReadCbor, maxDepth, maxElements);"));
+        Assert.assertTrue(generatedCode.contains("while head >> 5 == 6 {"));
+        Assert.assertFalse(generatedCode.contains("return transformerReadCbor(cursor);"));
+        Assert.assertTrue(generatedCode.contains(
+                "if mediaType == \"application/msgpack\" || mediaType == \"application/x-msgpack\" {"));
+        Assert.assertTrue(generatedCode.contains("isolated function transformerWriteMsgpack(byte[] out, " +
+                "anydata value) {"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForRawResourceGeneration() {
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_30").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("isolated resource function post raw/greet(@http:Payload string " +
+                "payload) returns string|error {"));
+        Assert.assertTrue(generatedCode.contains("return greet(payload);"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function post raw/checksum(@http:Payload " +
+                "byte[] payload) returns int|error {"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function post raw/echoJson(http:Request request) " +
+                "returns json|error|http:PayloadTooLarge|http:BadRequest {"));
+        Assert.assertTrue(generatedCode.contains(
+                "json|error payload = text is error ? text : text.fromJsonString();"));
+        Assert.assertTrue(generatedCode.contains("string|error text = string:fromBytes(check body);"));
+        Assert.assertTrue(generatedCode.contains("return echoJsonRawResourceBounded(payload);"));
+        Assert.assertTrue(generatedCode.contains("isolated resource function post greet(@http:Payload " +
+                "greetPayload payload) returns string|error {"));
+        Assert.assertFalse(generatedCode.contains("raw/fullName"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForPayloadLimitedPayloadFormatServiceGeneration() {
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_34").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("byte[]|http:PayloadTooLarge|error body = helloWorld2PayloadLimits" +
+                ".read(request, !transformerIsBinary(request.getContentType()));"));
+        Assert.assertTrue(generatedCode.contains(
+                "json|error document = transformerDecode(request.getContentType(), check body, 4, 100);"));
+        Assert.assertTrue(generatedCode.contains("if document is TransformerPayloadLimitExceeded {"));
+        Assert.assertTrue(generatedCode.contains("return helloWorld2PayloadLimits.reject(document.message());"));
+        Assert.assertTrue(generatedCode.contains("return mediaType == \"application/cbor\" || " +
+                "mediaType == \"application/msgpack\" || mediaType == \"application/x-msgpack\";"));
+        Assert.assertTrue(generatedCode.contains("maxDepth: maxDepth > 0 ? maxDepth : 128, maxElements};"));
+        Assert.assertTrue(generatedCode.contains("if cursor.maxElements > 0 && length > cursor.maxElements {"));
+        Assert.assertTrue(generatedCode.contains("if cursor.depth > cursor.maxDepth {"));
+        Assert.assertTrue(generatedCode.contains(
+                "json|error document = transformerDecode(request.getContentType(), check body, 0, 0);"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
+
+    @Test
+    public void testForPayloadLimitedRawResourceGeneration() {
+        CodeGeneratorResult codeGenResult = loadPackage("sample_package_35").runCodeGeneratorPlugins();
+        Assert.assertEquals(codeGenResult.reportedDiagnostics().errorCount(), 0);
+        String generatedCode = getGeneratedServiceCode(codeGenResult);
+        Assert.assertTrue(generatedCode.contains("isolated resource function post raw/greet(http:Request request) " +
+                "returns string|error|http:PayloadTooLarge|http:BadRequest {"));
+        Assert.assertTrue(generatedCode.contains(
+                "byte[]|http:PayloadTooLarge|error body = greetPayloadLimits.read(request, false);"));
+        Assert.assertTrue(generatedCode.contains(
+                "byte[]|http:PayloadTooLarge|error body = greetPayloadLimits.read(request, true);"));
+        Assert.assertTrue(generatedCode.contains(
+                "byte[]|http:PayloadTooLarge|error body = checksumPayloadLimits.read(request, false);"));
+        Assert.assertTrue(generatedCode.contains(
+                "byte[]|http:PayloadTooLarge|error body = echoJsonPayloadLimits.read(request, true);"));
+        Assert.assertFalse(generatedCode.contains("transformerDecode"));
+        Assert.assertEquals(compileGeneratedPackage(codeGenResult).errorCount(), 0);
+    }
 }
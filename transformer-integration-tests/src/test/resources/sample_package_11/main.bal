@@ -0,0 +1,5 @@
+import ballerina/transformer as _;
+
+public isolated function helloWorld(string firstName) returns string => firstName;
+
+public function helloWorld1(string firstName, string lastName = "Root") returns string => firstName + lastName;
@@ -0,0 +1,5 @@
+import ballerina/transformer as _;
+
+public isolated function normalize(string code, string region = "LK") returns string => code.toUpperAscii() + region;
+
+public isolated function total(int... amounts) returns int => int:sum(...amounts);
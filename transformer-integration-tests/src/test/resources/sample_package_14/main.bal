@@ -0,0 +1,9 @@
+import ballerina/transformer as _;
+
+public isolated function normalize(string code) returns string => trimCode(code).toUpperAscii();
+
+public isolated function enrich(string code, string region = "LK") returns string => region + "-" + code;
+
+public isolated function project(string code, int length) returns string => code.substring(0, length);
+
+isolated function trimCode(string code) returns string => code.trim();
@@ -0,0 +1,9 @@
+import ballerina/io;
+import ballerina/transformer as _;
+
+public isolated function greet(string name) returns string => logGreeting("Hello " + name);
+
+isolated function logGreeting(string greeting) returns string {
+    io:println(greeting);
+    return greeting;
+}
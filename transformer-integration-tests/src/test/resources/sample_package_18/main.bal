@@ -0,0 +1,7 @@
+import ballerina/transformer as _;
+
+public isolated function normalize(string code) returns string => code.trim().toUpperAscii();
+
+public isolated function enrich(string code, string region = "LK") returns string => region + "-" + code;
+
+public isolated function project(string code, int length) returns string => code.substring(0, length);
@@ -0,0 +1,3 @@
+public isolated function normalizeCode(string code) returns string => code.trim().toUpperAscii();
+
+public isolated function prefixCode(string code, string region = "LK") returns string => region + "-" + code;
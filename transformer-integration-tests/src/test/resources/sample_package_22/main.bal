@@ -0,0 +1,5 @@
+import ballerina/transformer as _;
+
+public isolated function toCelsius(float fahrenheit) returns float => (fahrenheit - 32.0) * 5.0 / 9.0;
+
+public isolated function toFahrenheit(float celsius) returns float => celsius * 9.0 / 5.0 + 32.0;
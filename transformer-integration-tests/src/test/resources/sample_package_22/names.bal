@@ -0,0 +1,4 @@
+public isolated function formatName(string firstName, string lastName = "") returns string =>
+    lastName == "" ? firstName : firstName + " " + lastName;
+
+public isolated function initials(string... names) returns string => names.length().toString();
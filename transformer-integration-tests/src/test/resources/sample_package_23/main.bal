@@ -0,0 +1,11 @@
+import ballerina/transformer as _;
+
+public isolated function normalizeCode(string code) returns string => code.trim().toUpperAscii();
+
+public isolated function prefixCode(string code, string region = "LK") returns string => region + "-" + code;
+
+public isolated function joinCodes(string... codes) returns string => codes.length().toString();
+
+public isolated function countryCode() returns string => "LK";
+
+public isolated function toCelsius(float fahrenheit) returns float => (fahrenheit - 32.0) * 5.0 / 9.0;
@@ -0,0 +1,13 @@
+import ballerina/transformer as _;
+
+public isolated function fullName(Person person) returns string => person.firstName + " " + person.lastName;
+
+public isolated function city(Person person, Code country = "LK") returns string => person.address.city + country;
+
+public isolated function headCount(Team team) returns int => team.members.length();
+
+public isolated function depth(Category category) returns int => category.parent is () ? 0 : 1;
+
+public isolated function describe(Document document) returns string => document.title;
+
+public isolated function eventName(Event event) returns string => event.name;
@@ -0,0 +1,33 @@
+type Code string;
+
+type Address record {|
+    string city;
+    Code? postalCode;
+|};
+
+type Person record {
+    string firstName;
+    string lastName;
+    Address address;
+};
+
+type Team record {|
+    string name;
+    readonly & Person[] members;
+|};
+
+type Category record {|
+    string name;
+    Category? parent;
+|};
+
+type Document record {|
+    string title;
+    xml content;
+|};
+
+type Event record {|
+    string name;
+    anydata details;
+    map<anydata> tags;
+|};
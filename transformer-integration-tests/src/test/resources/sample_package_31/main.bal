@@ -0,0 +1,5 @@
+import ballerina/transformer as _;
+
+public isolated function toDocument(string name, int age) returns json => {name: name, age: age};
+
+public isolated function toAttributes(string name) returns map<anydata> => {name: name};
@@ -0,0 +1,10 @@
+import ballerina/lang.runtime;
+import ballerina/transformer as _;
+
+public isolated function countDown(int count) returns int {
+    int remaining = count > 0 ? countDownAgain(count - 1) : 0;
+    runtime:sleep(0.001);
+    return remaining;
+}
+
+public isolated function countDownAgain(int count) returns int => count > 0 ? countDown(count - 1) : 0;
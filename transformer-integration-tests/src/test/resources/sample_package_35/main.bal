@@ -0,0 +1,9 @@
+import ballerina/transformer as _;
+
+public isolated function greet(string name) returns string => "Hello " + name;
+
+public isolated function checksum(byte[] data) returns int => data.length();
+
+public isolated function echoJson(json document) returns json => document;
+
+public isolated function fullName(string firstName, string lastName) returns string => firstName + " " + lastName;
@@ -0,0 +1,15 @@
+import ballerina/transformer as _;
+
+type Code string;
+
+public isolated function normalize(string code) returns string => code.trim().toUpperAscii();
+
+public isolated function label(string? code) returns Code => code ?: "NONE";
+
+public isolated function tag(Code code) returns string => "#" + code;
+
+public isolated function render(string code) returns xml => xml `<code>${code}</code>`;
+
+public isolated function wrap(json document) returns json => {document};
+
+public isolated function count(string code) returns int|error => code.length();